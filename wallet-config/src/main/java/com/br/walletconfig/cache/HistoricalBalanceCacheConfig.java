@@ -0,0 +1,21 @@
+package com.br.walletconfig.cache;
+
+import com.br.walletcore.port.cache.HistoricalBalanceCache;
+import com.br.walletdataprovider.mongodb.cache.CaffeineHistoricalBalanceCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Saldos de dias fechados não mudam: o cache não depende de wallet.cache.enabled nem de invalidação entre réplicas.
+ */
+@Configuration
+public class HistoricalBalanceCacheConfig {
+
+    @Bean
+    public HistoricalBalanceCache historicalBalanceCache(MeterRegistry meterRegistry,
+                                                         @Value("${wallet.cache.historical.max-size}") long maxSize) {
+        return new CaffeineHistoricalBalanceCache(meterRegistry, maxSize);
+    }
+}
@@ -0,0 +1,66 @@
+package com.br.walletconfig.cache;
+
+import com.br.walletcore.port.repositories.WalletRepository;
+import com.br.walletdataprovider.kafka.KafkaWalletCacheInvalidationTransport;
+import com.br.walletdataprovider.mongodb.cache.CachingWalletRepository;
+import com.br.walletdataprovider.mongodb.cache.LocalWalletCacheInvalidationTransport;
+import com.br.walletdataprovider.mongodb.cache.WalletCacheInvalidationTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+
+/**
+ * Com wallet.cache.enabled=true os casos de uso recebem o repositório com cache em vez do acesso direto ao Mongo.
+ * O transporte de invalidação entre réplicas é escolhido por wallet.cache.invalidation.transport.
+ */
+@Configuration
+@ConditionalOnProperty(value = "wallet.cache.enabled", havingValue = "true")
+public class WalletCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingWalletRepository cachingWalletRepository(@Qualifier("walletRepositoryImpl") WalletRepository walletRepository,
+                                                           WalletCacheInvalidationTransport invalidationTransport,
+                                                           MeterRegistry meterRegistry,
+                                                           @Value("${wallet.cache.ttl}") Duration ttl,
+                                                           @Value("${wallet.cache.max-size}") long maxSize) {
+        return new CachingWalletRepository(walletRepository, invalidationTransport, meterRegistry, ttl, maxSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "wallet.cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+    public WalletCacheInvalidationTransport localWalletCacheInvalidationTransport() {
+        return new LocalWalletCacheInvalidationTransport();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "wallet.cache.invalidation.transport", havingValue = "kafka")
+    public WalletCacheInvalidationTransport kafkaWalletCacheInvalidationTransport(KafkaTemplate<String, Object> kafkaTemplate,
+                                                                                  @Value("${wallet.cache.invalidation.topic}") String topic) {
+        return new KafkaWalletCacheInvalidationTransport(kafkaTemplate, topic);
+    }
+
+    /**
+     * Tópico compactado: só o último aviso por userId precisa sobreviver.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "wallet.cache.invalidation.transport", havingValue = "kafka")
+    public NewTopic walletCacheInvalidationTopic(@Value("${wallet.cache.invalidation.topic}") String topic,
+                                                 @Value("${wallet.cache.invalidation.partitions}") int partitions,
+                                                 @Value("${wallet.cache.invalidation.replicas}") int replicas) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.walletconfig.execution;
+
+import com.br.walletcore.concurrent.DirectWalletOperationExecutor;
+import com.br.walletcore.concurrent.ShardedWalletOperationExecutor;
+import com.br.walletcore.concurrent.WalletOperationExecutor;
+import com.br.walletdataprovider.mongodb.concurrency.OptimisticLockRetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Seleciona como as mutações de carteira são executadas (wallet.execution.mode).
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "wallet.execution.mode", havingValue = "direct", matchIfMissing = true)
+    public WalletOperationExecutor directWalletOperationExecutor() {
+        return new DirectWalletOperationExecutor();
+    }
+
+    /**
+     * Um shard por núcleo por padrão; o Spring chama close() no shutdown para drenar as filas.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "wallet.execution.mode", havingValue = "sharded")
+    public WalletOperationExecutor shardedWalletOperationExecutor(@Value("${wallet.execution.shards}") int shards) {
+        int shardCount = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        return new ShardedWalletOperationExecutor(shardCount);
+    }
+
+    @Bean
+    public OptimisticLockRetryPolicy optimisticLockRetryPolicy(MeterRegistry meterRegistry,
+                                                               @Value("${wallet.execution.retry.enabled}") boolean enabled,
+                                                               @Value("${wallet.execution.retry.max-attempts}") int maxAttempts,
+                                                               @Value("${wallet.execution.retry.base-delay}") Duration baseDelay,
+                                                               @Value("${wallet.execution.retry.max-delay}") Duration maxDelay) {
+        return new OptimisticLockRetryPolicy(meterRegistry, enabled, maxAttempts, baseDelay, maxDelay);
+    }
+}
@@ -1,21 +1,44 @@
 package com.br.walletconfig.kafka;
 
+import com.br.walletcore.events.CompositeEventPublisher;
+import com.br.walletcore.events.EventPublicationStrategy;
+import com.br.walletcore.port.events.DomainEventPublisher;
 import com.br.walletcore.port.events.OutboxEventPublisher;
 import com.br.walletcore.port.events.WalletEventPublisher;
+import com.br.walletdataprovider.kafka.AdaptiveOutboxPolling;
+import com.br.walletdataprovider.kafka.EventKeyStrategy;
 import com.br.walletdataprovider.kafka.KafkaWalletEventPublisher;
+import com.br.walletdataprovider.kafka.OrderedOutboxBatchPublisher;
+import com.br.walletdataprovider.kafka.OutboxBatchPublisher;
 import com.br.walletdataprovider.kafka.OutboxWalletEventPublisher;
+import com.br.walletdataprovider.kafka.PartitionSkewMetrics;
+import com.br.walletdataprovider.kafka.TransactionalOutboxBatchPublisher;
 import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class EventPublisherConfig {
 
     @Bean("kafkaEventPublisher")
-    public WalletEventPublisher kafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
-        return new KafkaWalletEventPublisher(kafkaTemplate);
+    public WalletEventPublisher kafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                                    MeterRegistry meterRegistry,
+                                                    @Value("${wallet.kafka.topics.wallet-events.name}") String topic,
+                                                    @Value("${wallet.kafka.topics.wallet-events.partitions}") int partitions,
+                                                    @Value("${wallet.kafka.topics.wallet-events.key-strategy}") EventKeyStrategy keyStrategy) {
+        return new KafkaWalletEventPublisher(kafkaTemplate, keyStrategy,
+                new PartitionSkewMetrics(meterRegistry, topic, partitions));
     }
 
     @Bean("outboxEventPublisher")
@@ -23,4 +46,78 @@ public class EventPublisherConfig {
         return new OutboxWalletEventPublisher(outboxRepository, objectMapper);
     }
 
+    /**
+     * Porta única dos casos de uso: a estratégia decide se o evento vai ao outbox, direto ao Kafka ou aos dois.
+     */
+    @Bean
+    public DomainEventPublisher domainEventPublisher(WalletEventPublisher kafkaEventPublisher,
+                                                     OutboxEventPublisher outboxEventPublisher,
+                                                     @Value("${wallet.events.publication}") EventPublicationStrategy strategy) {
+        return new CompositeEventPublisher(strategy, kafkaEventPublisher, outboxEventPublisher);
+    }
+
+    @Bean
+    public AdaptiveOutboxPolling adaptiveOutboxPolling(MeterRegistry meterRegistry,
+                                                       OutboxEventMongoRepository outboxRepository,
+                                                       @Value("${wallet.outbox.scheduler.min-delay}") Duration minDelay,
+                                                       @Value("${wallet.outbox.scheduler.max-delay}") Duration maxDelay,
+                                                       @Value("${wallet.outbox.batch-size}") int batchSize,
+                                                       @Value("${wallet.outbox.max-batch-size}") int maxBatchSize) {
+        return new AdaptiveOutboxPolling(meterRegistry, outboxRepository::countPending,
+                minDelay, maxDelay, batchSize, maxBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "wallet.outbox.publish.mode", havingValue = "pipelined", matchIfMissing = true)
+    public OutboxBatchPublisher outboxBatchPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                                     ObjectMapper objectMapper,
+                                                     @Value("${wallet.kafka.topics.wallet-outbox.name}") String topic,
+                                                     @Value("${wallet.kafka.topics.wallet-outbox-dlq.name}") String deadLetterTopic,
+                                                     @Value("${wallet.outbox.send-timeout}") Duration sendTimeout) {
+        return new OutboxBatchPublisher(kafkaTemplate, objectMapper, topic, deadLetterTopic, sendTimeout);
+    }
+
+    /**
+     * Um worker por núcleo por padrão; o Spring chama close() no shutdown.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "wallet.outbox.publish.mode", havingValue = "per-aggregate")
+    public OutboxBatchPublisher orderedOutboxBatchPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                                            ObjectMapper objectMapper,
+                                                            @Value("${wallet.kafka.topics.wallet-outbox.name}") String topic,
+                                                            @Value("${wallet.kafka.topics.wallet-outbox-dlq.name}") String deadLetterTopic,
+                                                            @Value("${wallet.outbox.send-timeout}") Duration sendTimeout,
+                                                            @Value("${wallet.outbox.publish.workers}") int workers) {
+        int workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return new OrderedOutboxBatchPublisher(kafkaTemplate, objectMapper, topic, deadLetterTopic, sendTimeout, workerCount);
+    }
+
+    /**
+     * Producer transacional próprio, fora do contexto: declarar outro ProducerFactory como bean desligaria
+     * o da autoconfiguração usado pelos demais publishers. O prefixo do transactional.id deve ser único
+     * e estável por réplica para que a instância reiniciada isole (fence) as transações da anterior.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "wallet.outbox.publish.mode", havingValue = "transactional")
+    public OutboxBatchPublisher transactionalOutboxBatchPublisher(KafkaProperties kafkaProperties,
+                                                                  ObjectProvider<DefaultKafkaProducerFactoryCustomizer> customizers,
+                                                                  ObjectMapper objectMapper,
+                                                                  OutboxEventMongoRepository outboxRepository,
+                                                                  @Value("${wallet.kafka.topics.wallet-outbox.name}") String topic,
+                                                                  @Value("${wallet.kafka.topics.wallet-outbox-dlq.name}") String deadLetterTopic,
+                                                                  @Value("${wallet.outbox.send-timeout}") Duration sendTimeout,
+                                                                  @Value("${wallet.outbox.transactional.id-prefix}") String transactionIdPrefix) {
+        var producerFactory = new DefaultKafkaProducerFactory<String, Object>(kafkaProperties.buildProducerProperties(null));
+        producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        // Mesmos ajustes do factory da autoconfiguração (ex.: encoding por tópico)
+        customizers.orderedStream().forEach(customizer -> customizer.customize(producerFactory));
+
+        var transactionalTemplate = new KafkaTemplate<>(producerFactory);
+        // Cópias para o DLQ são enviadas fora de transação
+        transactionalTemplate.setAllowNonTransactional(true);
+
+        return new TransactionalOutboxBatchPublisher(transactionalTemplate, objectMapper, outboxRepository,
+                topic, deadLetterTopic, sendTimeout);
+    }
+
 }
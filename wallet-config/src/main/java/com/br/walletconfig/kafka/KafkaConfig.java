@@ -1,11 +1,28 @@
 package com.br.walletconfig.kafka;
 
+import com.br.walletdataprovider.kafka.serialization.CompactEventDeserializer;
+import com.br.walletdataprovider.kafka.serialization.CompactEventSerializer;
+import com.br.walletdataprovider.kafka.serialization.EventEncoding;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.support.serializer.DelegatingByTopicDeserializer;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerialization;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Configuração simplificada do Kafka usando apenas @Value.
@@ -25,15 +42,30 @@ public class KafkaConfig {
     @Value("${wallet.kafka.topics.wallet-events.replicas}")
     private int walletEventsReplicas;
 
+    @Value("${wallet.kafka.topics.wallet-events.encoding}")
+    private EventEncoding walletEventsEncoding;
+
     @Value("${wallet.kafka.topics.wallet-outbox.name}")
     private String walletOutboxTopicName;
 
+    @Value("${wallet.kafka.topics.wallet-outbox.encoding}")
+    private EventEncoding walletOutboxEncoding;
+
     @Value("${wallet.kafka.topics.wallet-outbox.partitions}")
     private int walletOutboxPartitions;
 
     @Value("${wallet.kafka.topics.wallet-outbox.replicas}")
     private int walletOutboxReplicas;
 
+    @Value("${wallet.kafka.topics.wallet-outbox-dlq.name}")
+    private String walletOutboxDlqTopicName;
+
+    @Value("${wallet.kafka.topics.wallet-outbox-dlq.partitions}")
+    private int walletOutboxDlqPartitions;
+
+    @Value("${wallet.kafka.topics.wallet-outbox-dlq.replicas}")
+    private int walletOutboxDlqReplicas;
+
     /**
      * Cria o tópico para eventos de wallet se não existir.
      * Configurações do producer/consumer vêm do application.yml
@@ -57,4 +89,64 @@ public class KafkaConfig {
                 .replicas(walletOutboxReplicas)
                 .build();
     }
+
+    /**
+     * Cria o tópico de dead letters do outbox (eventos que esgotaram as tentativas).
+     */
+    @Bean
+    public NewTopic walletOutboxDlqTopic() {
+        return TopicBuilder.name(walletOutboxDlqTopicName)
+                .partitions(walletOutboxDlqPartitions)
+                .replicas(walletOutboxDlqReplicas)
+                .build();
+    }
+
+    /**
+     * Tópicos com encoding compacto passam pelo serializer binário; os demais (DLQ, cache) seguem com
+     * o serializer do application.yml. Sem nenhum tópico compacto a configuração fica intacta.
+     */
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer eventEncodingProducerCustomizer() {
+        return factory -> {
+            Map<String, Object> overrides = delegateByTopic(factory.getConfigurationProperties(),
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, DelegatingByTopicSerializer.class,
+                    CompactEventSerializer.class);
+            if (!overrides.isEmpty()) {
+                factory.updateConfigs(overrides);
+            }
+        };
+    }
+
+    @Bean
+    public DefaultKafkaConsumerFactoryCustomizer eventEncodingConsumerCustomizer() {
+        return factory -> {
+            Map<String, Object> overrides = delegateByTopic(factory.getConfigurationProperties(),
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, DelegatingByTopicDeserializer.class,
+                    CompactEventDeserializer.class);
+            if (!overrides.isEmpty()) {
+                factory.updateConfigs(overrides);
+            }
+        };
+    }
+
+    private Map<String, Object> delegateByTopic(Map<String, Object> configs, String valueClassConfig,
+                                                Class<?> delegatingClass, Class<?> compactClass) {
+        List<String> compactTopics = Stream.of(
+                        Map.entry(walletEventsTopicName, walletEventsEncoding),
+                        Map.entry(walletOutboxTopicName, walletOutboxEncoding))
+                .filter(topic -> topic.getValue() == EventEncoding.COMPACT)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (compactTopics.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put(valueClassConfig, delegatingClass);
+        overrides.put(DelegatingByTopicSerialization.VALUE_SERIALIZATION_TOPIC_CONFIG, compactTopics.stream()
+                .map(topic -> Pattern.quote(topic) + ":" + compactClass.getName())
+                .collect(Collectors.joining(",")));
+        overrides.put(DelegatingByTopicSerialization.VALUE_SERIALIZATION_TOPIC_DEFAULT, configs.get(valueClassConfig));
+        return overrides;
+    }
 }
\ No newline at end of file
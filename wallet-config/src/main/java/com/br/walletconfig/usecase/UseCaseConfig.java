@@ -1,15 +1,24 @@
 package com.br.walletconfig.usecase;
 
-import com.br.walletcore.port.events.OutboxEventPublisher;
-import com.br.walletcore.port.events.WalletEventPublisher;
+import com.br.walletcore.concurrent.WalletOperationExecutor;
+import com.br.walletcore.port.cache.HistoricalBalanceCache;
+import com.br.walletcore.port.events.DomainEventPublisher;
+import com.br.walletcore.port.repositories.BalanceSnapshotRepository;
+import com.br.walletcore.port.repositories.ParkedEventRepository;
 import com.br.walletcore.port.repositories.WalletRepository;
 import com.br.walletcore.usecase.CreateWalletUseCase;
 import com.br.walletcore.usecase.DepositUseCase;
+import com.br.walletcore.usecase.ExportTransactionsUseCase;
+import com.br.walletcore.usecase.GetBalanceSeriesUseCase;
 import com.br.walletcore.usecase.GetBalanceUseCase;
 import com.br.walletcore.usecase.GetHistoricalBalance;
 import com.br.walletcore.usecase.GetWalletUseCase;
+import com.br.walletcore.usecase.ListTransactionsUseCase;
+import com.br.walletcore.usecase.ReplayParkedEventsUseCase;
+import com.br.walletcore.usecase.SnapshotDailyBalancesUseCase;
 import com.br.walletcore.usecase.TransferUseCase;
 import com.br.walletcore.usecase.WithdrawUseCase;
+import com.br.walletdataprovider.mongodb.concurrency.OptimisticLockRetryPolicy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -20,8 +29,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UseCaseConfig {
 
     @Bean
-    public CreateWalletUseCase createWalletUseCase(WalletRepository walletRepository, WalletEventPublisher walletEventPublisher, OutboxEventPublisher outboxEventPublisher) {
-        return new CreateWalletUseCase(walletRepository, walletEventPublisher, outboxEventPublisher);
+    public CreateWalletUseCase createWalletUseCase(WalletRepository walletRepository, DomainEventPublisher eventPublisher) {
+        return new CreateWalletUseCase(walletRepository, eventPublisher);
     }
 
     @Bean
@@ -30,26 +39,57 @@ public class UseCaseConfig {
     }
 
     @Bean
-    public GetHistoricalBalance getHistoricalBalance(WalletRepository walletRepository) {
-        return new GetHistoricalBalance(walletRepository);
+    public GetHistoricalBalance getHistoricalBalance(WalletRepository walletRepository,
+                                                     BalanceSnapshotRepository balanceSnapshotRepository,
+                                                     HistoricalBalanceCache historicalBalanceCache) {
+        return new GetHistoricalBalance(walletRepository, balanceSnapshotRepository, historicalBalanceCache);
+    }
+
+    @Bean
+    public GetBalanceSeriesUseCase getBalanceSeriesUseCase(WalletRepository walletRepository, GetHistoricalBalance getHistoricalBalance) {
+        return new GetBalanceSeriesUseCase(walletRepository, getHistoricalBalance);
+    }
+
+    @Bean
+    public ListTransactionsUseCase listTransactionsUseCase(WalletRepository walletRepository) {
+        return new ListTransactionsUseCase(walletRepository);
+    }
+
+    @Bean
+    public ExportTransactionsUseCase exportTransactionsUseCase(WalletRepository walletRepository) {
+        return new ExportTransactionsUseCase(walletRepository);
+    }
+
+    @Bean
+    public ReplayParkedEventsUseCase replayParkedEventsUseCase(ParkedEventRepository parkedEventRepository) {
+        return new ReplayParkedEventsUseCase(parkedEventRepository);
+    }
+
+    @Bean
+    public SnapshotDailyBalancesUseCase snapshotDailyBalancesUseCase(WalletRepository walletRepository, GetHistoricalBalance getHistoricalBalance) {
+        return new SnapshotDailyBalancesUseCase(walletRepository, getHistoricalBalance);
     }
 
     @Bean
     @Transactional
-    public DepositUseCase depositUseCase(WalletRepository walletRepository, WalletEventPublisher walletEventPublisher, OutboxEventPublisher outboxEventPublisher) {
-        return new DepositUseCase(walletRepository, walletEventPublisher, outboxEventPublisher);
+    public DepositUseCase depositUseCase(WalletRepository walletRepository, DomainEventPublisher eventPublisher, WalletOperationExecutor walletOperationExecutor) {
+        return new DepositUseCase(walletRepository, eventPublisher, walletOperationExecutor);
     }
 
     @Bean
     @Transactional
-    public WithdrawUseCase withdrawUseCase(WalletRepository walletRepository, WalletEventPublisher walletEventPublisher, OutboxEventPublisher outboxEventPublisher) {
-        return new WithdrawUseCase(walletRepository, walletEventPublisher, outboxEventPublisher);
+    public WithdrawUseCase withdrawUseCase(WalletRepository walletRepository, DomainEventPublisher eventPublisher, WalletOperationExecutor walletOperationExecutor) {
+        return new WithdrawUseCase(walletRepository, eventPublisher, walletOperationExecutor);
     }
 
+    /**
+     * Só a transferência passa pela retentativa, e nela só o débito pode conflitar: o crédito é um
+     * $inc atômico. Depósito e saque usam um único findAndModify condicional e nunca conflitam.
+     */
     @Bean
     @Transactional
-    public TransferUseCase transferUseCase(WalletRepository walletRepository, WalletEventPublisher walletEventPublisher, OutboxEventPublisher outboxEventPublisher) {
-        return new TransferUseCase(walletRepository, walletEventPublisher, outboxEventPublisher);
+    public TransferUseCase transferUseCase(WalletRepository walletRepository, DomainEventPublisher eventPublisher, WalletOperationExecutor walletOperationExecutor, OptimisticLockRetryPolicy retryPolicy) {
+        return new TransferUseCase(walletRepository, eventPublisher, retryPolicy.decorate(walletOperationExecutor, "transfer"));
     }
 
     @Bean
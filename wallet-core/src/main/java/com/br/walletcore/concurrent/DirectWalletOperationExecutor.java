@@ -0,0 +1,15 @@
+package com.br.walletcore.concurrent;
+
+import java.util.function.Supplier;
+
+/**
+ * Default mode: runs the operation on the calling thread, conflicts are detected by the
+ * {@code version} of the wallet document.
+ */
+public class DirectWalletOperationExecutor implements WalletOperationExecutor {
+
+    @Override
+    public <T> T execute(String walletKey, Supplier<T> operation) {
+        return operation.get();
+    }
+}
@@ -0,0 +1,124 @@
+package com.br.walletcore.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer mode: every wallet key is pinned to one shard (lock-free queue + one consumer
+ * thread), so operations on the same wallet run one after the other without optimistic-lock
+ * conflicts while different wallets proceed in parallel on the other shards.
+ * <p>
+ * The caller blocks until its operation completes. An operation already running on the
+ * owning shard is executed inline; shard threads must not wait on a different shard.
+ */
+@Slf4j
+public class ShardedWalletOperationExecutor implements WalletOperationExecutor, AutoCloseable {
+
+    private final Shard[] shards;
+
+    public ShardedWalletOperationExecutor(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard("wallet-shard-" + i);
+        }
+        log.info("Sharded wallet executor started with {} shards", shardCount);
+    }
+
+    @Override
+    public <T> T execute(String walletKey, Supplier<T> operation) {
+        Shard shard = shards[Math.floorMod(walletKey.hashCode(), shards.length)];
+        if (Thread.currentThread() == shard.thread) {
+            return operation.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        shard.submit(() -> {
+            try {
+                result.complete(operation.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting work and drains what is already queued before the threads exit.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Shard implements Runnable {
+
+        private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Shard(String name) {
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void submit(Runnable task) {
+            if (!running) {
+                throw new RejectedExecutionException("Wallet executor is shutting down");
+            }
+            queue.offer(task);
+            if (!running && queue.remove(task)) {
+                throw new RejectedExecutionException("Wallet executor is shutting down");
+            }
+            LockSupport.unpark(thread);
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                Runnable task = queue.poll();
+                if (task == null) {
+                    // unpark() antes do park() deixa a permissão pendente, então nenhuma tarefa é perdida
+                    LockSupport.park(this);
+                    continue;
+                }
+                task.run();
+            }
+        }
+    }
+}
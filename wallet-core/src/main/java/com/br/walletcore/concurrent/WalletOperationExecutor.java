@@ -0,0 +1,12 @@
+package com.br.walletcore.concurrent;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a wallet mutation on behalf of the caller. Implementations decide whether operations
+ * on the same wallet are serialized in-process or left to the repository's concurrency control.
+ */
+public interface WalletOperationExecutor {
+
+    <T> T execute(String walletKey, Supplier<T> operation);
+}
@@ -0,0 +1,23 @@
+package com.br.walletcore.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Closing balance of a wallet for a day that is already closed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+    private String walletId;
+    private LocalDate date;
+    private Money balance;
+    private LocalDateTime createdAt;
+}
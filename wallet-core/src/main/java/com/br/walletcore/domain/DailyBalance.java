@@ -0,0 +1,14 @@
+package com.br.walletcore.domain;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Closing balance of a wallet on a given day, one point of a balance series.
+ */
+@Value
+public class DailyBalance {
+    LocalDate date;
+    Money balance;
+}
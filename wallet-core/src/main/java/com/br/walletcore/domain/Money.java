@@ -1,44 +1,92 @@
 package com.br.walletcore.domain;
 
-import lombok.Builder;
+import com.br.walletcore.enums.CurrencyType;
 import lombok.Value;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
+/**
+ * Monetary amount kept as a {@code long} count of minor units (centavos) plus an interned
+ * {@link CurrencyType}, so arithmetic and comparisons never allocate BigDecimal or String.
+ * BigDecimal is only produced/consumed at the boundaries through {@link #of(BigDecimal, String)}
+ * and {@link #getAmount()}.
+ */
 @Value
-@Builder
 public class Money {
-    BigDecimal amount;
-    String currency;
+
+    public static final int SCALE = 2;
+
+    long minorUnits;
+    CurrencyType currencyType;
+
+    private Money(long minorUnits, CurrencyType currencyType) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        this.minorUnits = minorUnits;
+        this.currencyType = currencyType;
+    }
 
     public static Money of(BigDecimal amount, String currency) {
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        if (amount.signum() < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
-        return Money.builder()
-                .amount(amount.setScale(2, RoundingMode.HALF_UP))
-                .currency(currency.toUpperCase())
-                .build();
+        try {
+            long minorUnits = amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            return new Money(minorUnits, CurrencyType.of(currency));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits, CurrencyType currencyType) {
+        return new Money(minorUnits, currencyType);
+    }
+
+    public static Money zero(CurrencyType currencyType) {
+        return new Money(0L, currencyType);
     }
 
     public Money add(Money other) {
         validateSameCurrency(other);
-        return Money.of(this.amount.add(other.amount), this.currency);
+        try {
+            return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currencyType);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range");
+        }
     }
 
     public Money subtract(Money other) {
         validateSameCurrency(other);
-        BigDecimal result = this.amount.subtract(other.amount);
-        if (result.compareTo(BigDecimal.ZERO) < 0) {
+        if (this.minorUnits < other.minorUnits) {
             throw new IllegalArgumentException("Insufficient funds");
         }
-        return Money.of(result, this.currency);
+        return new Money(this.minorUnits - other.minorUnits, this.currencyType);
+    }
+
+    public boolean isPositive() {
+        return this.minorUnits > 0;
+    }
+
+    public boolean isSameCurrency(Money other) {
+        return this.currencyType == other.currencyType;
+    }
+
+    /**
+     * Decimal view for REST responses and event payloads. Not meant for the hot path.
+     */
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(this.minorUnits, SCALE);
+    }
+
+    public String getCurrency() {
+        return this.currencyType.getCurrency();
     }
 
     private void validateSameCurrency(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (!isSameCurrency(other)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.br.walletcore.domain;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a parked-event replay: how many were scheduled, when the last one becomes eligible
+ * and how many are still parked.
+ */
+@Value
+public class ReplayResult {
+    int scheduled;
+    LocalDateTime completesAt;
+    long remainingParked;
+}
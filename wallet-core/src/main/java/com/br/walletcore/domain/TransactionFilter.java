@@ -0,0 +1,18 @@
+package com.br.walletcore.domain;
+
+import com.br.walletcore.enums.TransactionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of a transaction history query; null fields are not applied.
+ */
+@Value
+@Builder
+public class TransactionFilter {
+    TransactionType type;
+    LocalDateTime from;
+    LocalDateTime until;
+}
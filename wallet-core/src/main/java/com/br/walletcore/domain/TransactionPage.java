@@ -0,0 +1,14 @@
+package com.br.walletcore.domain;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of a wallet's transaction history, newest first. {@code nextCursor} is null on the last page.
+ */
+@Value
+public class TransactionPage {
+    List<WalletTransaction> transactions;
+    TransactionCursor nextCursor;
+}
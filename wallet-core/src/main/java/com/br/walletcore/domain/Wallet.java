@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -34,10 +33,10 @@ public class Wallet {
     }
 
     private void validateAmount(Money amount) {
-        if (amount.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Amount must be positive");
         }
-        if (!this.balance.getCurrency().equals(amount.getCurrency())) {
+        if (!this.balance.isSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
     }
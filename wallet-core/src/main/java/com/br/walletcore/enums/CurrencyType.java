@@ -2,6 +2,11 @@ package com.br.walletcore.enums;
 
 import lombok.Getter;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Getter
 public enum CurrencyType {
 
@@ -11,6 +16,9 @@ public enum CurrencyType {
     EUR("EUR", "Euro"),
     ARS("ARS", "Argentine Peso");
 
+    private static final Map<String, CurrencyType> BY_ACRONYM = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(CurrencyType::getCurrency, Function.identity()));
+
     private final String currency;
     private final String description;
 
@@ -33,4 +41,23 @@ public enum CurrencyType {
         throw new IllegalArgumentException("Moeda com sigla '" + acronym + "' not found!");
     }
 
+    /**
+     * Resolves the acronym to its interned constant. Exact matches cost a single map lookup;
+     * only non-normalized input (lowercase, padded) pays for trim/upper-case.
+     */
+    public static CurrencyType of(String acronym) {
+        if (acronym == null || acronym.isEmpty()) {
+            throw new IllegalArgumentException("Currency acronym cannot be null or empty");
+        }
+
+        CurrencyType currencyType = BY_ACRONYM.get(acronym);
+        if (currencyType == null) {
+            currencyType = BY_ACRONYM.get(acronym.trim().toUpperCase());
+        }
+        if (currencyType == null) {
+            throw new IllegalArgumentException("Moeda com sigla '" + acronym + "' not found!");
+        }
+        return currencyType;
+    }
+
 }
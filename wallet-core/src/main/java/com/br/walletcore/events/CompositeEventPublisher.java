@@ -0,0 +1,35 @@
+package com.br.walletcore.events;
+
+import com.br.walletcore.port.events.DomainEventPublisher;
+import com.br.walletcore.port.events.OutboxEventPublisher;
+import com.br.walletcore.port.events.WalletEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes every event to the channels selected by the {@link EventPublicationStrategy}, so the request
+ * path only pays for the serializations and writes of the channels in use.
+ */
+@Slf4j
+public class CompositeEventPublisher implements DomainEventPublisher {
+
+    private final WalletEventPublisher walletEventPublisher;
+    private final OutboxEventPublisher outboxEventPublisher;
+
+    public CompositeEventPublisher(EventPublicationStrategy strategy,
+                                   WalletEventPublisher walletEventPublisher,
+                                   OutboxEventPublisher outboxEventPublisher) {
+        this.walletEventPublisher = strategy == EventPublicationStrategy.OUTBOX_ONLY ? null : walletEventPublisher;
+        this.outboxEventPublisher = strategy == EventPublicationStrategy.DIRECT_ONLY ? null : outboxEventPublisher;
+        log.info("Event publication strategy: {}", strategy);
+    }
+
+    @Override
+    public void publish(String eventType, Object payload) {
+        if (walletEventPublisher != null) {
+            walletEventPublisher.publishWalletEvent(eventType, payload);
+        }
+        if (outboxEventPublisher != null) {
+            outboxEventPublisher.publishOutboxEvent(eventType, payload);
+        }
+    }
+}
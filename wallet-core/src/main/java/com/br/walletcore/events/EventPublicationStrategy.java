@@ -0,0 +1,16 @@
+package com.br.walletcore.events;
+
+public enum EventPublicationStrategy {
+    /**
+     * Only the outbox: one Mongo insert per event, relayed to Kafka asynchronously with retries.
+     */
+    OUTBOX_ONLY,
+    /**
+     * Only the direct fire-and-forget Kafka send; no delivery guarantee if the broker is unavailable.
+     */
+    DIRECT_ONLY,
+    /**
+     * Both channels, as each use case did before the strategy existed.
+     */
+    BOTH
+}
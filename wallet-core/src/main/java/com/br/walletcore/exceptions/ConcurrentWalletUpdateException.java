@@ -0,0 +1,16 @@
+package com.br.walletcore.exceptions;
+
+/**
+ * Raised when a wallet mutation keeps losing the race against concurrent writers
+ * after the configured retries; the request can be safely retried by the client.
+ */
+public class ConcurrentWalletUpdateException extends RuntimeException {
+
+    public ConcurrentWalletUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentWalletUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
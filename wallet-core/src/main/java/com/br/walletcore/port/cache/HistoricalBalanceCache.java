@@ -0,0 +1,17 @@
+package com.br.walletcore.port.cache;
+
+import com.br.walletcore.domain.Money;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Closing balances of closed days. Such a balance never changes, so entries need no expiry or
+ * invalidation, only a size bound.
+ */
+public interface HistoricalBalanceCache {
+
+    Optional<Money> get(String walletId, LocalDate date);
+
+    void put(String walletId, LocalDate date, Money balance);
+}
@@ -0,0 +1,9 @@
+package com.br.walletcore.port.events;
+
+/**
+ * Single publication port used by the use cases; which channels an event actually goes through
+ * (direct Kafka, outbox or both) is a deployment choice.
+ */
+public interface DomainEventPublisher {
+    void publish(String eventType, Object payload);
+}
@@ -0,0 +1,16 @@
+package com.br.walletcore.port.repositories;
+
+import com.br.walletcore.domain.BalanceSnapshot;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface BalanceSnapshotRepository {
+
+    Optional<BalanceSnapshot> findLatestAtOrBefore(String walletId, LocalDate date);
+
+    /**
+     * Idempotent: saving the same wallet/date twice keeps a single snapshot.
+     */
+    void save(BalanceSnapshot snapshot);
+}
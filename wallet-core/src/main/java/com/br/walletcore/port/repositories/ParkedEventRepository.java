@@ -0,0 +1,21 @@
+package com.br.walletcore.port.repositories;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox events parked after exhausting their retries (already copied to the dead-letter topic).
+ */
+public interface ParkedEventRepository {
+
+    long countParked();
+
+    /**
+     * Returns up to {@code limit} parked events, oldest first, to the outbox with a fresh retry budget.
+     * The i-th event becomes eligible at {@code firstAttemptAt + i * spacing}, so the relay picks them
+     * up at a controlled rate instead of all at once.
+     *
+     * @return number of events scheduled for replay
+     */
+    int scheduleReplay(int limit, LocalDateTime firstAttemptAt, Duration spacing);
+}
@@ -1,18 +1,65 @@
 package com.br.walletcore.port.repositories;
 
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.TransactionCursor;
+import com.br.walletcore.domain.TransactionFilter;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface WalletRepository {
     Wallet save(Wallet wallet);
 
     Optional<Wallet> findByUserId(String userId);
 
-    List<WalletTransaction> findTransactionsByWalletIdUntilTimestamp(String walletId, LocalDateTime timestamp);
+    /**
+     * Streams every wallet without materializing the collection.
+     */
+    void forEachWallet(Consumer<Wallet> action);
+
+    /**
+     * Atomically credits the wallet and returns its post-image.
+     * Empty when no wallet matches the user and currency.
+     */
+    Optional<Wallet> incrementBalance(String userId, Money amount);
+
+    /**
+     * Atomically debits the wallet only if balance >= amount and returns its post-image.
+     * Empty when no wallet matches the user, currency and available balance.
+     */
+    Optional<Wallet> decrementBalance(String userId, Money amount);
+
+    /**
+     * Latest transaction at or before the timestamp; its balanceAfter is the balance at that instant.
+     */
+    Optional<WalletTransaction> findLatestTransactionAtOrBefore(String walletId, LocalDateTime timestamp);
+
+    /**
+     * Same as {@link #findLatestTransactionAtOrBefore} but bounded below (exclusive), so the index scan
+     * stops at {@code after}.
+     */
+    Optional<WalletTransaction> findLatestTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until);
+
+    /**
+     * Streams the transactions in {@code (after, until]} ordered by timestamp ascending.
+     */
+    void forEachTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until, Consumer<WalletTransaction> action);
+
+    /**
+     * Streams every transaction of the wallet ordered by (timestamp, id) ascending, reading the
+     * cursor in batches as the action consumes them.
+     */
+    void forEachTransaction(String walletId, Consumer<WalletTransaction> action);
+
+    /**
+     * Up to {@code limit} transactions matching the filter, ordered by (timestamp, id) descending and
+     * starting strictly after {@code after} when it is present.
+     */
+    List<WalletTransaction> findTransactions(String walletId, TransactionFilter filter, TransactionCursor after, int limit);
 
     void saveTransaction(WalletTransaction transaction);
 }
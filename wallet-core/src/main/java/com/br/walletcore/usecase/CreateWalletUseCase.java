@@ -2,14 +2,13 @@ package com.br.walletcore.usecase;
 
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.Wallet;
-import com.br.walletcore.port.events.OutboxEventPublisher;
-import com.br.walletcore.port.events.WalletEventPublisher;
+import com.br.walletcore.enums.CurrencyType;
+import com.br.walletcore.port.events.DomainEventPublisher;
 import com.br.walletcore.port.repositories.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -20,8 +19,7 @@ import static com.br.walletcore.enums.WalletEventType.WALLET_CREATED;
 public class CreateWalletUseCase {
 
     private final WalletRepository walletRepository;
-    private final WalletEventPublisher walletEventPublisher;
-    private final OutboxEventPublisher outboxEventPublisher;
+    private final DomainEventPublisher eventPublisher;
 
     public Wallet execute(String userId, String currency) {
         log.info("Creating wallet for user: {}", userId);
@@ -32,16 +30,14 @@ public class CreateWalletUseCase {
 
         var wallet = Wallet.builder()
                 .userId(userId)
-                .balance(Money.of(BigDecimal.ZERO, currency))
+                .balance(Money.zero(CurrencyType.of(currency)))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
         Wallet savedWallet = walletRepository.save(wallet);
 
-        walletEventPublisher.publishWalletEvent(WALLET_CREATED.getName(), getPayload(savedWallet));
-
-        outboxEventPublisher.publishOutboxEvent(WALLET_CREATED.getName(), getPayload(savedWallet));
+        eventPublisher.publish(WALLET_CREATED.getName(), getPayload(savedWallet));
 
         log.info("Wallet created successfully for user: {}", userId);
         return savedWallet;
@@ -1,11 +1,12 @@
 package com.br.walletcore.usecase;
 
+import com.br.walletcore.concurrent.WalletOperationExecutor;
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 import com.br.walletcore.enums.TransactionType;
-import com.br.walletcore.port.events.OutboxEventPublisher;
-import com.br.walletcore.port.events.WalletEventPublisher;
+import com.br.walletcore.exceptions.ConcurrentWalletUpdateException;
+import com.br.walletcore.port.events.DomainEventPublisher;
 import com.br.walletcore.port.repositories.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,35 +14,42 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.br.walletcore.enums.WalletEventType.FUNDS_DEPOSITED;
-import static com.br.walletcore.enums.WalletEventType.WALLET_CREATED;
 
 @Slf4j
 @RequiredArgsConstructor
 public class DepositUseCase {
 
+    // Tentativas do update condicional quando a releitura mostra que a regra de negócio passa
+    private static final int MAX_ATTEMPTS = 3;
+
     private static final String DESCRIPTION_TRANSACTION = "Deposit to wallet";
 
     private final WalletRepository walletRepository;
-    private final WalletEventPublisher walletEventPublisher;
-    private final OutboxEventPublisher outboxEventPublisher;
+    private final DomainEventPublisher eventPublisher;
+    private final WalletOperationExecutor walletOperationExecutor;
 
     public WalletTransaction execute(String userId, Money amount) {
+        return walletOperationExecutor.execute(userId, () -> deposit(userId, amount));
+    }
+
+    private WalletTransaction deposit(String userId, Money amount) {
         log.info("Processing deposit for user: {}, amount: {}", userId, amount);
 
-        Wallet wallet = walletRepository.findByUserId(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+        if (!amount.isPositive()) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
 
-        Money previousBalance = wallet.getBalance();
-        wallet.deposit(amount);
+        Wallet updatedWallet = credit(userId, amount);
 
-        Wallet updatedWallet = walletRepository.save(wallet);
+        Money previousBalance = updatedWallet.getBalance().subtract(amount);
 
         var transaction = WalletTransaction.builder()
                 .id(UUID.randomUUID().toString())
-                .walletId(wallet.getId())
+                .walletId(updatedWallet.getId())
                 .type(TransactionType.DEPOSIT)
                 .amount(amount)
                 .balanceAfter(updatedWallet.getBalance())
@@ -52,22 +60,37 @@ public class DepositUseCase {
 
         walletRepository.saveTransaction(transaction);
 
-        walletEventPublisher.publishWalletEvent(FUNDS_DEPOSITED.getName(), getPayload(amount, wallet, previousBalance, updatedWallet, transaction));
-
-        outboxEventPublisher.publishOutboxEvent(WALLET_CREATED.getName(), getPayload(amount, wallet, previousBalance, updatedWallet, transaction));
+        eventPublisher.publish(FUNDS_DEPOSITED.getName(), getPayload(amount, previousBalance, updatedWallet, transaction));
 
         log.info("Deposit completed for user: {}", userId);
         return transaction;
     }
 
+    /**
+     * An empty credit means missing wallet or currency mismatch; replaying the domain rule on a fresh
+     * read tells which one. When the rule passes, the wallet changed between the update and the read
+     * (e.g. it was just created or converted), so the conditional update is tried again.
+     */
+    private Wallet credit(String userId, Money amount) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Optional<Wallet> updatedWallet = walletRepository.incrementBalance(userId, amount);
+            if (updatedWallet.isPresent()) {
+                return updatedWallet.get();
+            }
+            walletRepository.findByUserId(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId))
+                    .deposit(amount);
+        }
+        throw new ConcurrentWalletUpdateException("Deposit could not be applied for user: " + userId + ", please retry");
+    }
+
     private static Map<String, ? extends Serializable> getPayload(Money amount,
-                                                                  Wallet wallet,
                                                                   Money previousBalance,
                                                                   Wallet updatedWallet,
                                                                   WalletTransaction transaction) {
         return Map.of(
-                "walletId", wallet.getId(),
-                "userId", wallet.getUserId(),
+                "walletId", updatedWallet.getId(),
+                "userId", updatedWallet.getUserId(),
                 "amount", amount.getAmount(),
                 "currency", amount.getCurrency(),
                 "previousBalance", previousBalance.getAmount(),
@@ -0,0 +1,41 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.port.repositories.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Full transaction log of a wallet, delivered one transaction at a time so the export runs in
+ * constant memory regardless of the history size.
+ * <p>
+ * The wallet is resolved eagerly, so lookup errors surface before any output is written;
+ * the returned export only touches the database when it is consumed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ExportTransactionsUseCase {
+
+    private final WalletRepository walletRepository;
+
+    public TransactionExport execute(String userId) {
+        log.info("Preparing transaction export for user: {}", userId);
+
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("UserId cannot be null or empty");
+        }
+
+        Wallet wallet = walletRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+
+        return sink -> walletRepository.forEachTransaction(wallet.getId(), sink);
+    }
+
+    @FunctionalInterface
+    public interface TransactionExport {
+        void writeTo(Consumer<WalletTransaction> sink);
+    }
+}
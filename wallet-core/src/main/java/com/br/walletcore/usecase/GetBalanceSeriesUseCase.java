@@ -0,0 +1,88 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.domain.DailyBalance;
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.port.repositories.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Daily closing balances over a date range computed in a single ascending pass over the
+ * wallet's transactions: each day carries forward the balanceAfter of its last transaction.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GetBalanceSeriesUseCase {
+
+    private static final String DAY_STEP = "day";
+    private static final long MAX_DAYS = 366;
+
+    private final WalletRepository walletRepository;
+    private final GetHistoricalBalance getHistoricalBalance;
+
+    public List<DailyBalance> execute(String userId, LocalDate from, LocalDate to, String step) {
+        log.info("Getting balance series for user: {} from: {} to: {} step: {}", userId, from, to, step);
+
+        validateInputs(userId, from, to, step);
+
+        Wallet wallet = walletRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+
+        var cursor = new SeriesCursor(from, getHistoricalBalance.balanceAt(wallet, from.minusDays(1).atTime(LocalTime.MAX)));
+        List<DailyBalance> series = new ArrayList<>((int) ChronoUnit.DAYS.between(from, to) + 1);
+
+        walletRepository.forEachTransactionBetween(wallet.getId(),
+                from.minusDays(1).atTime(LocalTime.MAX), to.atTime(LocalTime.MAX), transaction -> {
+                    cursor.closeDaysBefore(transaction.getTimestamp().toLocalDate(), series);
+                    cursor.balance = transaction.getBalanceAfter();
+                });
+
+        cursor.closeDaysBefore(to.plusDays(1), series);
+        return series;
+    }
+
+    private void validateInputs(String userId, LocalDate from, LocalDate to, String step) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("UserId cannot be null or empty");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (to.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Date cannot be in the future");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_DAYS + " days");
+        }
+        if (!DAY_STEP.equalsIgnoreCase(step)) {
+            throw new IllegalArgumentException("Unsupported step: " + step);
+        }
+    }
+
+    private static final class SeriesCursor {
+        private LocalDate day;
+        private Money balance;
+
+        private SeriesCursor(LocalDate day, Money balance) {
+            this.day = day;
+            this.balance = balance;
+        }
+
+        private void closeDaysBefore(LocalDate limit, List<DailyBalance> series) {
+            while (day.isBefore(limit)) {
+                series.add(new DailyBalance(day, balance));
+                day = day.plusDays(1);
+            }
+        }
+    }
+}
@@ -1,65 +1,127 @@
 package com.br.walletcore.usecase;
 
+import com.br.walletcore.domain.BalanceSnapshot;
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 import com.br.walletcore.enums.CurrencyType;
+import com.br.walletcore.port.cache.HistoricalBalanceCache;
+import com.br.walletcore.port.repositories.BalanceSnapshotRepository;
 import com.br.walletcore.port.repositories.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RequiredArgsConstructor
 public class GetHistoricalBalance {
 
+    // Transações gravadas perto da meia-noite podem chegar alguns instantes depois do fechamento do dia
+    private static final Duration DAY_CLOSE_GRACE = Duration.ofMinutes(1);
+
     private final WalletRepository walletRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final HistoricalBalanceCache historicalBalanceCache;
 
     public Money execute(String userId, LocalDate date) {
-        log.info("Getting historical balance for user: {} at date: {}", userId, date);
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return execute(userId, date.atTime(LocalTime.MAX));
+    }
+
+    public Money execute(String userId, LocalDateTime timestamp) {
+        log.info("Getting historical balance for user: {} at: {}", userId, timestamp);
 
-        validateInputs(userId, date);
+        validateInputs(userId, timestamp);
 
         Wallet wallet = walletRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
 
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
+        return balanceAt(wallet, timestamp);
+    }
 
-        List<WalletTransaction> transactions = walletRepository
-                .findTransactionsByWalletIdUntilTimestamp(wallet.getId(), endOfDay);
+    public Money balanceAt(Wallet wallet, LocalDateTime timestamp) {
+        LocalDate day = timestamp.toLocalDate();
+        if (timestamp.toLocalTime().equals(LocalTime.MAX) && isClosed(day)) {
+            return closingBalance(wallet, day);
+        }
 
-        return transactions.stream()
-                .max(Comparator.comparing(WalletTransaction::getTimestamp))
-                .map(WalletTransaction::getBalanceAfter)
-                .orElse(createZeroBalance(wallet));
+        Optional<BalanceSnapshot> previousSnapshot = balanceSnapshotRepository.findLatestAtOrBefore(wallet.getId(), day.minusDays(1));
+        return balanceFrom(wallet, previousSnapshot, timestamp);
     }
 
+    /**
+     * Closing balance of a closed day: served from memory when possible, otherwise read from its
+     * snapshot, or computed from the previous snapshot plus the transactions after it and then
+     * stored so the next lookup is a single read.
+     */
+    public Money closingBalance(Wallet wallet, LocalDate day) {
+        Optional<Money> cached = historicalBalanceCache.get(wallet.getId(), day);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository.findLatestAtOrBefore(wallet.getId(), day);
+        if (snapshot.isPresent() && snapshot.get().getDate().equals(day)) {
+            historicalBalanceCache.put(wallet.getId(), day, snapshot.get().getBalance());
+            return snapshot.get().getBalance();
+        }
 
-    private void validateInputs(String userId, LocalDate date) {
+        Money closing = balanceFrom(wallet, snapshot, day.atTime(LocalTime.MAX));
+
+        balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                .walletId(wallet.getId())
+                .date(day)
+                .balance(closing)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.debug("Balance snapshot stored for wallet: {} at: {}", wallet.getId(), day);
+        historicalBalanceCache.put(wallet.getId(), day, closing);
+        return closing;
+    }
+
+    public boolean isClosed(LocalDate day) {
+        return LocalDateTime.now().isAfter(day.plusDays(1).atStartOfDay().plus(DAY_CLOSE_GRACE));
+    }
+
+    private Money balanceFrom(Wallet wallet, Optional<BalanceSnapshot> snapshot, LocalDateTime timestamp) {
+        if (snapshot.isEmpty()) {
+            return walletRepository.findLatestTransactionAtOrBefore(wallet.getId(), timestamp)
+                    .map(WalletTransaction::getBalanceAfter)
+                    .orElseGet(() -> createZeroBalance(wallet));
+        }
+
+        LocalDateTime snapshotEnd = snapshot.get().getDate().atTime(LocalTime.MAX);
+        return walletRepository.findLatestTransactionBetween(wallet.getId(), snapshotEnd, timestamp)
+                .map(WalletTransaction::getBalanceAfter)
+                .orElseGet(() -> snapshot.get().getBalance());
+    }
+
+    private void validateInputs(String userId, LocalDateTime timestamp) {
         if (userId == null || userId.trim().isEmpty()) {
             throw new IllegalArgumentException("UserId cannot be null or empty");
         }
-        if (date == null) {
+        if (timestamp == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        if (date.isAfter(LocalDate.now())) {
+        if (timestamp.toLocalDate().isAfter(LocalDate.now())) {
             throw new IllegalArgumentException("Date cannot be in the future");
         }
     }
 
     private Money createZeroBalance(Wallet wallet) {
         if (wallet.getBalance() != null) {
-            return Money.of(BigDecimal.ZERO, wallet.getBalance().getCurrency());
+            return Money.zero(wallet.getBalance().getCurrencyType());
         }
 
         log.warn("Wallet balance is null for wallet: {}, using default currency {}", wallet.getId(), CurrencyType.BRL);
-        return Money.of(BigDecimal.ZERO, CurrencyType.BRL.getCurrency());
+        return Money.zero(CurrencyType.BRL);
     }
 
 }
@@ -0,0 +1,61 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.domain.TransactionCursor;
+import com.br.walletcore.domain.TransactionFilter;
+import com.br.walletcore.domain.TransactionPage;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.port.repositories.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Transaction history with keyset pagination: each page starts right after the (timestamp, id)
+ * of the previous one, so any page costs one index seek plus {@code limit} entries.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ListTransactionsUseCase {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final WalletRepository walletRepository;
+
+    public TransactionPage execute(String userId, TransactionFilter filter, String cursor, Integer limit) {
+        log.info("Listing transactions for user: {} filter: {} limit: {}", userId, filter, limit);
+
+        int pageSize = validateInputs(userId, filter, limit);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        Wallet wallet = walletRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+
+        // Um item a mais indica se existe próxima página sem precisar de count
+        List<WalletTransaction> transactions = walletRepository.findTransactions(wallet.getId(), filter, after, pageSize + 1);
+        if (transactions.size() <= pageSize) {
+            return new TransactionPage(transactions, null);
+        }
+
+        List<WalletTransaction> page = transactions.subList(0, pageSize);
+        return new TransactionPage(List.copyOf(page), TransactionCursor.of(page.getLast()));
+    }
+
+    private int validateInputs(String userId, TransactionFilter filter, Integer limit) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("UserId cannot be null or empty");
+        }
+        if (filter.getFrom() != null && filter.getUntil() != null && filter.getFrom().isAfter(filter.getUntil())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.domain.ReplayResult;
+import com.br.walletcore.port.repositories.ParkedEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReplayParkedEventsUseCase {
+
+    public static final int MAX_REPLAY = 10_000;
+    public static final int MAX_RATE_PER_SECOND = 1_000;
+
+    private final ParkedEventRepository parkedEventRepository;
+
+    public long countParked() {
+        return parkedEventRepository.countParked();
+    }
+
+    public ReplayResult execute(int limit, int ratePerSecond) {
+        log.info("Replaying up to {} parked outbox events at {}/s", limit, ratePerSecond);
+
+        if (limit <= 0 || limit > MAX_REPLAY) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_REPLAY);
+        }
+        if (ratePerSecond <= 0 || ratePerSecond > MAX_RATE_PER_SECOND) {
+            throw new IllegalArgumentException("Rate must be between 1 and " + MAX_RATE_PER_SECOND + " events per second");
+        }
+
+        LocalDateTime start = LocalDateTime.now();
+        Duration spacing = Duration.ofSeconds(1).dividedBy(ratePerSecond);
+        int scheduled = parkedEventRepository.scheduleReplay(limit, start, spacing);
+
+        LocalDateTime completesAt = start.plus(spacing.multipliedBy(Math.max(scheduled - 1, 0)));
+        return new ReplayResult(scheduled, completesAt, parkedEventRepository.countParked());
+    }
+}
@@ -0,0 +1,43 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.port.repositories.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-of-day job: stores the closing balance of every wallet so historical lookups never
+ * need to walk the transaction index. Safe to run on several replicas, snapshots are idempotent.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SnapshotDailyBalancesUseCase {
+
+    private final WalletRepository walletRepository;
+    private final GetHistoricalBalance getHistoricalBalance;
+
+    public long execute(LocalDate day) {
+        if (!getHistoricalBalance.isClosed(day)) {
+            throw new IllegalArgumentException("Day is not closed yet: " + day);
+        }
+        log.info("Taking balance snapshots for day: {}", day);
+
+        var processed = new AtomicLong();
+        var failed = new AtomicLong();
+
+        walletRepository.forEachWallet(wallet -> {
+            try {
+                getHistoricalBalance.closingBalance(wallet, day);
+                processed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.error("Failed to snapshot balance for wallet: {} at: {}", wallet.getId(), day, e);
+            }
+        });
+
+        log.info("Balance snapshots for day {} completed: {} wallets, {} failures", day, processed.get(), failed.get());
+        return processed.get();
+    }
+}
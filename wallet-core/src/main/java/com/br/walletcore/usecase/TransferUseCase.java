@@ -1,11 +1,11 @@
 package com.br.walletcore.usecase;
 
+import com.br.walletcore.concurrent.WalletOperationExecutor;
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 import com.br.walletcore.enums.TransactionType;
-import com.br.walletcore.port.events.OutboxEventPublisher;
-import com.br.walletcore.port.events.WalletEventPublisher;
+import com.br.walletcore.port.events.DomainEventPublisher;
 import com.br.walletcore.port.repositories.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +23,8 @@ import static com.br.walletcore.enums.WalletEventType.FUNDS_TRANSFERRED;
 public class TransferUseCase {
 
     private final WalletRepository walletRepository;
-    private final WalletEventPublisher walletEventPublisher;
-    private final OutboxEventPublisher outboxEventPublisher;
+    private final DomainEventPublisher eventPublisher;
+    private final WalletOperationExecutor walletOperationExecutor;
 
     public List<WalletTransaction> execute(String fromUserId, String toUserId, Money amount) {
         String correlationId = UUID.randomUUID().toString();
@@ -41,80 +41,104 @@ public class TransferUseCase {
         Wallet targetWallet = walletRepository.findByUserId(toUserId)
                 .orElseThrow(() -> new IllegalArgumentException("Target wallet not found"));
 
-        if (!sourceWallet.getBalance().getCurrency().equals(targetWallet.getBalance().getCurrency())) {
+        if (!sourceWallet.getBalance().isSameCurrency(targetWallet.getBalance())) {
             throw new IllegalArgumentException("Currency mismatch between wallets");
         }
 
-        // Processar retirada da carteira origem
-        Money sourceBalance = sourceWallet.getBalance();
-        sourceWallet.withdraw(amount);
-        Wallet updatedSourceWallet = walletRepository.save(sourceWallet);
+        // Cada perna roda no executor da sua própria carteira, nunca uma dentro da outra.
+        // O débito é o único passo que pode conflitar (e ser retentado) e nada foi gravado antes dele
+        WalletDebit debit = walletOperationExecutor.execute(fromUserId, () -> debit(fromUserId, amount));
 
-        var withdrawTransaction = WalletTransaction.builder()
-                .id(UUID.randomUUID().toString())
-                .walletId(sourceWallet.getId())
-                .type(TransactionType.TRANSFER_OUT)
-                .amount(amount)
-                .balanceAfter(updatedSourceWallet.getBalance())
-                .description("Transfer to user: " + toUserId)
-                .timestamp(LocalDateTime.now())
-                .correlationId(correlationId)
-                .build();
+        Wallet creditedWallet = credit(fromUserId, toUserId, amount);
 
-        walletRepository.saveTransaction(withdrawTransaction);
+        TransferLeg source = recordLeg(debit.balanceBefore(), debit.wallet(), TransactionType.TRANSFER_OUT,
+                "Transfer to user: " + toUserId, amount, correlationId);
+        TransferLeg target = recordLeg(creditedWallet.getBalance().subtract(amount), creditedWallet,
+                TransactionType.TRANSFER_IN, "Transfer from user: " + fromUserId, amount, correlationId);
 
-        // Processar depósito na carteira destino
-        Money targetBalance = targetWallet.getBalance();
-        targetWallet.deposit(amount);
-        Wallet updatedTargetWallet = walletRepository.save(targetWallet);
+        eventPublisher.publish(FUNDS_TRANSFERRED.getName(),
+                getPayload(fromUserId, toUserId, amount, correlationId, source, target));
 
-        WalletTransaction depositTransaction = WalletTransaction.builder()
+        log.info("Transfer completed successfully from {} to {}", fromUserId, toUserId);
+        return List.of(source.transaction(), target.transaction());
+    }
+
+    /**
+     * Re-reads the source wallet so the debit is applied to the latest version seen by the owning
+     * executor; a concurrent update makes the versioned save fail before anything was written.
+     */
+    private WalletDebit debit(String userId, Money amount) {
+        Wallet wallet = walletRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+
+        Money balanceBefore = wallet.getBalance();
+        wallet.withdraw(amount);
+        return new WalletDebit(balanceBefore, walletRepository.save(wallet));
+    }
+
+    /**
+     * Credits the target with the atomic $inc, which never conflicts. The source was already
+     * debited, so when the credit cannot be applied the debit is reverted before failing: the caller
+     * never gets an error after a partial transfer.
+     */
+    private Wallet credit(String fromUserId, String toUserId, Money amount) {
+        try {
+            return walletOperationExecutor.execute(toUserId, () -> walletRepository.incrementBalance(toUserId, amount))
+                    .orElseThrow(() -> new IllegalArgumentException("Target wallet not found or currency changed"));
+        } catch (RuntimeException e) {
+            log.error("Credit to {} failed, reverting debit of {}", toUserId, fromUserId, e);
+            walletOperationExecutor.execute(fromUserId, () -> walletRepository.incrementBalance(fromUserId, amount))
+                    .orElseThrow(() -> new IllegalStateException("Could not revert debit of user: " + fromUserId, e));
+            throw e;
+        }
+    }
+
+    private TransferLeg recordLeg(Money balanceBefore,
+                                  Wallet updatedWallet,
+                                  TransactionType type,
+                                  String description,
+                                  Money amount,
+                                  String correlationId) {
+        var transaction = WalletTransaction.builder()
                 .id(UUID.randomUUID().toString())
-                .walletId(targetWallet.getId())
-                .type(TransactionType.TRANSFER_IN)
+                .walletId(updatedWallet.getId())
+                .type(type)
                 .amount(amount)
-                .balanceAfter(updatedTargetWallet.getBalance())
-                .description("Transfer from user: " + fromUserId)
+                .balanceAfter(updatedWallet.getBalance())
+                .description(description)
                 .timestamp(LocalDateTime.now())
                 .correlationId(correlationId)
                 .build();
 
-        walletRepository.saveTransaction(depositTransaction);
-
-        walletEventPublisher.publishWalletEvent(FUNDS_TRANSFERRED.getName(),
-                getPayload(fromUserId, toUserId, amount, correlationId, sourceWallet, targetWallet, sourceBalance, updatedSourceWallet, targetBalance, updatedTargetWallet, depositTransaction));
-
-        outboxEventPublisher.publishOutboxEvent(FUNDS_TRANSFERRED.getName(),
-                getPayload(fromUserId, toUserId, amount, correlationId, sourceWallet, targetWallet, sourceBalance, updatedSourceWallet, targetBalance, updatedTargetWallet, depositTransaction));
-
-        log.info("Transfer completed successfully from {} to {}", fromUserId, toUserId);
-        return List.of(withdrawTransaction, depositTransaction);
+        walletRepository.saveTransaction(transaction);
+        return new TransferLeg(balanceBefore, updatedWallet, transaction);
     }
 
     private static Map<String, ? extends Serializable> getPayload(String fromUserId,
                                                                   String toUserId,
                                                                   Money amount,
                                                                   String correlationId,
-                                                                  Wallet sourceWallet,
-                                                                  Wallet targetWallet,
-                                                                  Money sourceBalance,
-                                                                  Wallet updatedSourceWallet,
-                                                                  Money targetBalance,
-                                                                  Wallet updatedTargetWallet,
-                                                                  WalletTransaction depositTransaction) {
+                                                                  TransferLeg source,
+                                                                  TransferLeg target) {
         return Map.ofEntries(
                 Map.entry("correlationId", correlationId),
-                Map.entry("sourceWalletId", sourceWallet.getId()),
-                Map.entry("targetWalletId", targetWallet.getId()),
+                Map.entry("sourceWalletId", source.wallet().getId()),
+                Map.entry("targetWalletId", target.wallet().getId()),
                 Map.entry("sourceUserId", fromUserId),
                 Map.entry("targetUserId", toUserId),
                 Map.entry("amount", amount.getAmount()),
                 Map.entry("currency", amount.getCurrency()),
-                Map.entry("sourceBalanceBefore", sourceBalance.getAmount()),
-                Map.entry("sourceBalanceAfter", updatedSourceWallet.getBalance().getAmount()),
-                Map.entry("targetBalanceBefore", targetBalance.getAmount()),
-                Map.entry("targetBalanceAfter", updatedTargetWallet.getBalance().getAmount()),
-                Map.entry("timestamp", depositTransaction.getTimestamp().toString())
+                Map.entry("sourceBalanceBefore", source.balanceBefore().getAmount()),
+                Map.entry("sourceBalanceAfter", source.wallet().getBalance().getAmount()),
+                Map.entry("targetBalanceBefore", target.balanceBefore().getAmount()),
+                Map.entry("targetBalanceAfter", target.wallet().getBalance().getAmount()),
+                Map.entry("timestamp", target.transaction().getTimestamp().toString())
         );
     }
+
+    private record WalletDebit(Money balanceBefore, Wallet wallet) {
+    }
+
+    private record TransferLeg(Money balanceBefore, Wallet wallet, WalletTransaction transaction) {
+    }
 }
@@ -0,0 +1,174 @@
+package com.br.walletcore.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do executor single-writer por shard (wallet.execution.mode=sharded)
+ */
+@Timeout(10)
+@DisplayName("Sharded wallet operation executor")
+class ShardedWalletOperationExecutorTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private ShardedWalletOperationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run operations on the same wallet one at a time on a single thread")
+    void shouldSerializeSameKey() throws Exception {
+        executor = new ShardedWalletOperationExecutor(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        int[] counter = {0};
+
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            calls.add(callers.submit(() -> executor.execute("wallet-1", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                threads.add(Thread.currentThread().getName());
+                counter[0]++;
+                running.decrementAndGet();
+                return null;
+            })));
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+
+        assertThat(counter[0]).isEqualTo(400);
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(threads).hasSize(1).allSatisfy(name -> assertThat(name).startsWith("wallet-shard-"));
+    }
+
+    @Test
+    @DisplayName("Should run wallets pinned to different shards in parallel")
+    void shouldRunDifferentShardsInParallel() throws Exception {
+        executor = new ShardedWalletOperationExecutor(2);
+        String first = "wallet-a";
+        String second = keyOnOtherShard(first, 2);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        Future<Boolean> waiting = callers.submit(() -> executor.execute(first, () -> await(secondStarted)));
+        executor.execute(second, () -> {
+            secondStarted.countDown();
+            return null;
+        });
+
+        assertThat(waiting.get()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the operation's exception to the caller")
+    void shouldPropagateExceptions() {
+        executor = new ShardedWalletOperationExecutor(2);
+        var failure = new IllegalArgumentException("Insufficient funds");
+        var error = new AssertionError("boom");
+
+        assertThatThrownBy(() -> executor.execute("wallet-1", () -> {
+            throw failure;
+        })).isSameAs(failure);
+        assertThatThrownBy(() -> executor.execute("wallet-1", () -> {
+            throw error;
+        })).isSameAs(error);
+
+        // O shard continua atendendo depois de uma falha
+        assertThat(executor.execute("wallet-1", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should run a nested operation on the owning shard inline instead of deadlocking")
+    void shouldRunNestedOperationInline() {
+        executor = new ShardedWalletOperationExecutor(1);
+
+        String result = executor.execute("wallet-1", () -> executor.execute("wallet-2", () -> "nested"));
+
+        assertThat(result).isEqualTo("nested");
+    }
+
+    @Test
+    @DisplayName("Should drain queued operations on close and reject new ones afterwards")
+    void shouldDrainOnClose() throws Exception {
+        executor = new ShardedWalletOperationExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        Future<?> first = callers.submit(() -> executor.execute("wallet-1", () -> {
+            blocking.countDown();
+            await(release);
+            return completed.incrementAndGet();
+        }));
+        assertThat(blocking.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<?>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queued.add(callers.submit(() -> executor.execute("wallet-1", completed::incrementAndGet)));
+        }
+        // Dá tempo de as chamadas entrarem na fila antes do close
+        Thread.sleep(200);
+
+        Thread closer = Thread.ofPlatform().start(executor::close);
+        release.countDown();
+        closer.join();
+
+        first.get();
+        for (Future<?> call : queued) {
+            call.get();
+        }
+        assertThat(completed.get()).isEqualTo(6);
+        assertThatThrownBy(() -> executor.execute("wallet-1", () -> "late"))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive shard count")
+    void shouldRejectInvalidShardCount() {
+        assertThatThrownBy(() -> new ShardedWalletOperationExecutor(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String keyOnOtherShard(String key, int shards) {
+        int shard = Math.floorMod(key.hashCode(), shards);
+        for (int i = 0; ; i++) {
+            String candidate = "wallet-" + i;
+            if (Math.floorMod(candidate.hashCode(), shards) != shard) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
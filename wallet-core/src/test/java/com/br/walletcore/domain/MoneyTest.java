@@ -0,0 +1,113 @@
+package com.br.walletcore.domain;
+
+import com.br.walletcore.enums.CurrencyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes das regras do Money em centavos (long de unidades mínimas)
+ */
+@DisplayName("Money")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should scale to minor units rounding half up")
+    void shouldRoundHalfUp() {
+        assertThat(Money.of(new BigDecimal("10.005"), "BRL").getMinorUnits()).isEqualTo(1001L);
+        assertThat(Money.of(new BigDecimal("10.004"), "BRL").getMinorUnits()).isEqualTo(1000L);
+        assertThat(Money.of(new BigDecimal("7"), "BRL").getMinorUnits()).isEqualTo(700L);
+        assertThat(Money.of(new BigDecimal("1E+2"), "BRL").getMinorUnits()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("Should expose the amount back with two decimal places")
+    void shouldExposeScaledAmount() {
+        Money money = Money.of(new BigDecimal("12.3"), "brl");
+
+        assertThat(money.getAmount()).isEqualTo(new BigDecimal("12.30"));
+        assertThat(money.getCurrencyType()).isEqualTo(CurrencyType.BRL);
+    }
+
+    @Test
+    @DisplayName("Should reject amounts that do not fit in a long of minor units")
+    void shouldRejectAmountOutOfRange() {
+        BigDecimal tooLarge = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(Money.SCALE).add(BigDecimal.ONE);
+
+        assertThatThrownBy(() -> Money.of(tooLarge, "BRL"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount out of range");
+        assertThat(Money.of(BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(Money.SCALE), "BRL").getMinorUnits())
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should reject negative amounts")
+    void shouldRejectNegativeAmounts() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("-0.01"), "BRL"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount cannot be negative");
+        assertThatThrownBy(() -> Money.ofMinor(-1L, CurrencyType.BRL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount cannot be negative");
+    }
+
+    @Test
+    @DisplayName("Should reject a negative amount even when it rounds to zero")
+    void shouldRejectTinyNegativeAmount() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("-0.001"), "BRL"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount cannot be negative");
+    }
+
+    @Test
+    @DisplayName("Should add amounts and reject overflow")
+    void shouldAddExact() {
+        assertThat(brl(1050).add(brl(250))).isEqualTo(brl(1300));
+
+        assertThatThrownBy(() -> brl(Long.MAX_VALUE).add(brl(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount out of range");
+    }
+
+    @Test
+    @DisplayName("Should subtract amounts down to zero and reject insufficient funds")
+    void shouldSubtract() {
+        assertThat(brl(1000).subtract(brl(1000))).isEqualTo(Money.zero(CurrencyType.BRL));
+        assertThat(brl(1000).subtract(brl(1))).isEqualTo(brl(999));
+
+        assertThatThrownBy(() -> brl(1000).subtract(brl(1001)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+    }
+
+    @Test
+    @DisplayName("Should reject arithmetic between different currencies")
+    void shouldRejectCurrencyMismatch() {
+        Money usd = Money.ofMinor(100, CurrencyType.USD);
+
+        assertThat(brl(100).isSameCurrency(usd)).isFalse();
+        assertThatThrownBy(() -> brl(100).add(usd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency mismatch");
+        assertThatThrownBy(() -> brl(100).subtract(usd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency mismatch");
+    }
+
+    @Test
+    @DisplayName("Should compare by minor units and currency")
+    void shouldCompareByValue() {
+        assertThat(Money.of(new BigDecimal("5.1"), "BRL")).isEqualTo(Money.of(new BigDecimal("5.10"), "BRL"));
+        assertThat(brl(0).isPositive()).isFalse();
+        assertThat(brl(1).isPositive()).isTrue();
+    }
+
+    private static Money brl(long minorUnits) {
+        return Money.ofMinor(minorUnits, CurrencyType.BRL);
+    }
+}
@@ -0,0 +1,98 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.concurrent.DirectWalletOperationExecutor;
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.port.events.DomainEventPublisher;
+import com.br.walletcore.port.repositories.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do DepositUseCase: crédito atômico condicional e tradução da recusa
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deposit use case")
+class DepositUseCaseTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    private DepositUseCase depositUseCase;
+
+    @BeforeEach
+    void setUp() {
+        depositUseCase = new DepositUseCase(walletRepository, eventPublisher, new DirectWalletOperationExecutor());
+    }
+
+    @Test
+    @DisplayName("Should retry the credit when the re-read shows the deposit is valid")
+    void shouldRetryCreditWhenReplayPasses() {
+        when(walletRepository.incrementBalance(USER_ID, money("50.00")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(wallet(money("60.00"))));
+        when(walletRepository.findByUserId(USER_ID)).thenReturn(Optional.of(wallet(money("10.00"))));
+
+        WalletTransaction transaction = depositUseCase.execute(USER_ID, money("50.00"));
+
+        assertThat(transaction.getBalanceAfter()).isEqualTo(money("60.00"));
+        verify(walletRepository, times(2)).incrementBalance(USER_ID, money("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject a currency mismatch confirmed by the re-read")
+    void shouldRejectCurrencyMismatch() {
+        when(walletRepository.incrementBalance(USER_ID, money("50.00"))).thenReturn(Optional.empty());
+        when(walletRepository.findByUserId(USER_ID))
+                .thenReturn(Optional.of(wallet(Money.of(new BigDecimal("10.00"), "USD"))));
+
+        assertThatThrownBy(() -> depositUseCase.execute(USER_ID, money("50.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency mismatch");
+        verify(walletRepository, never()).saveTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a missing wallet")
+    void shouldRejectMissingWallet() {
+        when(walletRepository.incrementBalance(USER_ID, money("50.00"))).thenReturn(Optional.empty());
+        when(walletRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> depositUseCase.execute(USER_ID, money("50.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Wallet not found");
+    }
+
+    private static Wallet wallet(Money balance) {
+        return Wallet.builder()
+                .id("wallet-1")
+                .userId(USER_ID)
+                .balance(balance)
+                .build();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount), "BRL");
+    }
+}
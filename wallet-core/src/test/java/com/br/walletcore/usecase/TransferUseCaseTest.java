@@ -0,0 +1,113 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.concurrent.DirectWalletOperationExecutor;
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.enums.TransactionType;
+import com.br.walletcore.port.events.DomainEventPublisher;
+import com.br.walletcore.port.repositories.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do TransferUseCase: débito com lock otimista e crédito atômico
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transfer use case")
+class TransferUseCaseTest {
+
+    private static final String SOURCE_USER = "user-1";
+    private static final String TARGET_USER = "user-2";
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    private TransferUseCase transferUseCase;
+
+    @BeforeEach
+    void setUp() {
+        transferUseCase = new TransferUseCase(walletRepository, eventPublisher, new DirectWalletOperationExecutor());
+    }
+
+    @Test
+    @DisplayName("Should debit the source with a versioned save and credit the target atomically")
+    void shouldTransferBetweenWallets() {
+        when(walletRepository.findByUserId(SOURCE_USER)).thenAnswer(invocation -> Optional.of(wallet("wallet-1", SOURCE_USER, "100.00")));
+        when(walletRepository.findByUserId(TARGET_USER)).thenReturn(Optional.of(wallet("wallet-2", TARGET_USER, "10.00")));
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletRepository.incrementBalance(TARGET_USER, money("30.00")))
+                .thenReturn(Optional.of(wallet("wallet-2", TARGET_USER, "40.00")));
+
+        List<WalletTransaction> transactions = transferUseCase.execute(SOURCE_USER, TARGET_USER, money("30.00"));
+
+        assertThat(transactions).extracting(WalletTransaction::getType)
+                .containsExactly(TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN);
+        assertThat(transactions).extracting(WalletTransaction::getBalanceAfter)
+                .containsExactly(money("70.00"), money("40.00"));
+        verify(eventPublisher).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should revert the debit and record nothing when the credit cannot be applied")
+    void shouldRevertDebitWhenCreditFails() {
+        when(walletRepository.findByUserId(SOURCE_USER)).thenAnswer(invocation -> Optional.of(wallet("wallet-1", SOURCE_USER, "100.00")));
+        when(walletRepository.findByUserId(TARGET_USER)).thenReturn(Optional.of(wallet("wallet-2", TARGET_USER, "10.00")));
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletRepository.incrementBalance(TARGET_USER, money("30.00"))).thenReturn(Optional.empty());
+        when(walletRepository.incrementBalance(SOURCE_USER, money("30.00")))
+                .thenReturn(Optional.of(wallet("wallet-1", SOURCE_USER, "100.00")));
+
+        assertThatThrownBy(() -> transferUseCase.execute(SOURCE_USER, TARGET_USER, money("30.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(walletRepository).incrementBalance(SOURCE_USER, money("30.00"));
+        verify(walletRepository, never()).saveTransaction(any());
+        verify(eventPublisher, never()).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the target when the debit fails")
+    void shouldNotCreditWhenDebitFails() {
+        when(walletRepository.findByUserId(SOURCE_USER)).thenAnswer(invocation -> Optional.of(wallet("wallet-1", SOURCE_USER, "10.00")));
+        when(walletRepository.findByUserId(TARGET_USER)).thenReturn(Optional.of(wallet("wallet-2", TARGET_USER, "10.00")));
+
+        assertThatThrownBy(() -> transferUseCase.execute(SOURCE_USER, TARGET_USER, money("30.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+
+        verify(walletRepository, never()).incrementBalance(anyString(), any());
+        verify(walletRepository, never()).saveTransaction(any());
+    }
+
+    private static Wallet wallet(String id, String userId, String balance) {
+        return Wallet.builder()
+                .id(id)
+                .userId(userId)
+                .balance(money(balance))
+                .build();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount), "BRL");
+    }
+}
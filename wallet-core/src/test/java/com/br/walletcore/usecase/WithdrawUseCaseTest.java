@@ -0,0 +1,100 @@
+package com.br.walletcore.usecase;
+
+import com.br.walletcore.concurrent.DirectWalletOperationExecutor;
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.exceptions.ConcurrentWalletUpdateException;
+import com.br.walletcore.port.events.DomainEventPublisher;
+import com.br.walletcore.port.repositories.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do WithdrawUseCase: débito atômico condicional e tradução da recusa
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Withdraw use case")
+class WithdrawUseCaseTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    private WithdrawUseCase withdrawUseCase;
+
+    @BeforeEach
+    void setUp() {
+        withdrawUseCase = new WithdrawUseCase(walletRepository, eventPublisher, new DirectWalletOperationExecutor());
+    }
+
+    @Test
+    @DisplayName("Should retry the debit when a concurrent deposit lands between the miss and the re-read")
+    void shouldRetryDebitWhenReplayPasses() {
+        when(walletRepository.decrementBalance(USER_ID, money("50.00")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(wallet("30.00")));
+        when(walletRepository.findByUserId(USER_ID)).thenAnswer(invocation -> Optional.of(wallet("80.00")));
+
+        WalletTransaction transaction = withdrawUseCase.execute(USER_ID, money("50.00"));
+
+        assertThat(transaction.getBalanceAfter()).isEqualTo(money("30.00"));
+        verify(walletRepository, times(2)).decrementBalance(USER_ID, money("50.00"));
+        verify(walletRepository).saveTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should reject with insufficient funds when the re-read confirms the miss")
+    void shouldRejectInsufficientFunds() {
+        when(walletRepository.decrementBalance(USER_ID, money("50.00"))).thenReturn(Optional.empty());
+        when(walletRepository.findByUserId(USER_ID)).thenReturn(Optional.of(wallet("20.00")));
+
+        assertThatThrownBy(() -> withdrawUseCase.execute(USER_ID, money("50.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+        verify(walletRepository, never()).saveTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should ask the client to retry when the balance keeps changing under the debit")
+    void shouldGiveUpAfterRepeatedRaces() {
+        when(walletRepository.decrementBalance(USER_ID, money("50.00"))).thenReturn(Optional.empty());
+        when(walletRepository.findByUserId(USER_ID)).thenAnswer(invocation -> Optional.of(wallet("80.00")));
+
+        assertThatThrownBy(() -> withdrawUseCase.execute(USER_ID, money("50.00")))
+                .isInstanceOf(ConcurrentWalletUpdateException.class);
+        verify(walletRepository, times(3)).decrementBalance(USER_ID, money("50.00"));
+        verify(walletRepository, never()).saveTransaction(any());
+    }
+
+    private static Wallet wallet(String balance) {
+        return Wallet.builder()
+                .id("wallet-1")
+                .userId(USER_ID)
+                .balance(money(balance))
+                .build();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount), "BRL");
+    }
+}
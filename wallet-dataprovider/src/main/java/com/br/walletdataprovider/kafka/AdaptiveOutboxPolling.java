@@ -0,0 +1,88 @@
+package com.br.walletdataprovider.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Polling interval and batch size driven by the last batch: a full batch means backlog, so the next
+ * poll runs right away with a larger batch (up to the ceiling); a partial one keeps the batch size
+ * and waits the minimum delay; an empty one doubles the delay up to the maximum and shrinks the
+ * batch back toward its floor.
+ * <p>
+ * Exports the current delay, batch size and pending backlog as gauges.
+ */
+public class AdaptiveOutboxPolling {
+
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+
+    private volatile Duration delay;
+    private volatile int batchSize;
+
+    public AdaptiveOutboxPolling(MeterRegistry meterRegistry,
+                                 LongSupplier backlog,
+                                 Duration minDelay,
+                                 Duration maxDelay,
+                                 int minBatchSize,
+                                 int maxBatchSize) {
+        if (minDelay.isNegative() || minDelay.isZero() || maxDelay.compareTo(minDelay) < 0) {
+            throw new IllegalArgumentException("Polling delays must satisfy 0 < min <= max");
+        }
+        if (minBatchSize <= 0 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Batch sizes must satisfy 0 < min <= max");
+        }
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.delay = minDelay;
+        this.batchSize = minBatchSize;
+
+        Gauge.builder("wallet.outbox.poll.delay", this, polling -> polling.delay.toMillis())
+                .description("Delay before the next outbox poll")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("wallet.outbox.batch.size", this, polling -> polling.batchSize)
+                .description("Events claimed per outbox poll")
+                .register(meterRegistry);
+        // Contagem feita no momento da coleta; countPending força o índice parcial de pendentes
+        Gauge.builder("wallet.outbox.backlog", backlog, supplier -> supplier.getAsLong())
+                .description("Outbox events waiting to be published, parked ones excluded")
+                .register(meterRegistry);
+    }
+
+    public Duration delay() {
+        return delay;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Adjusts the next delay and batch size from a batch of {@code requested} that published {@code published}.
+     *
+     * @return whether the batch was full, i.e. more events are probably waiting
+     */
+    public synchronized boolean onBatch(int requested, int published) {
+        if (published >= requested) {
+            batchSize = Math.min(batchSize * 2, maxBatchSize);
+            delay = Duration.ZERO;
+            return true;
+        }
+
+        if (published > 0) {
+            delay = minDelay;
+        } else {
+            Duration doubled = delay.isZero() ? minDelay : delay.multipliedBy(2);
+            delay = doubled.compareTo(maxDelay) > 0 ? maxDelay : doubled;
+            batchSize = Math.max(batchSize / 2, minBatchSize);
+        }
+        return false;
+    }
+}
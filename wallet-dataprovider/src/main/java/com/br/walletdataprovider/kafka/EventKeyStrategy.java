@@ -0,0 +1,38 @@
+package com.br.walletdataprovider.kafka;
+
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.extractWalletId;
+
+/**
+ * Chooses the Kafka record key of a wallet event, and therefore its partition.
+ */
+public enum EventKeyStrategy {
+
+    /**
+     * Keyed by the wallet the event belongs to: load spreads over all partitions and the events of
+     * one wallet stay in order. Events without a wallet get no key and are spread by the producer's
+     * default partitioner.
+     * <p>
+     * A transfer is a single event keyed by its source wallet, so it lands on the source wallet's
+     * partition. On the target wallet's side it is not ordered with that wallet's other events: a
+     * consumer may see a later deposit to the target before the transfer that credited it.
+     */
+    WALLET {
+        @Override
+        public String keyFor(String eventType, Object payload) {
+            return extractWalletId(payload).orElse(null);
+        }
+    },
+
+    /**
+     * Keyed by event type, the original behaviour: one partition per event type, so consumer
+     * parallelism is capped at the number of event types.
+     */
+    EVENT_TYPE {
+        @Override
+        public String keyFor(String eventType, Object payload) {
+            return eventType;
+        }
+    };
+
+    public abstract String keyFor(String eventType, Object payload);
+}
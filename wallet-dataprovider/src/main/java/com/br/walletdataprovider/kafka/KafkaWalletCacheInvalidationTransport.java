@@ -0,0 +1,59 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.cache.WalletCacheInvalidation;
+import com.br.walletdataprovider.mongodb.cache.WalletCacheInvalidationTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.handler.annotation.Payload;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cache invalidation over a compacted topic keyed by userId. Every node assigns itself all
+ * partitions and starts at their end, without joining a consumer group, so each notice reaches all
+ * replicas and restarts leave no orphaned groups behind. No offsets are committed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KafkaWalletCacheInvalidationTransport implements WalletCacheInvalidationTransport {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final List<Consumer<WalletCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(WalletCacheInvalidation invalidation) {
+        kafkaTemplate.send(topic, invalidation.userId(), invalidation)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Failed to publish cache invalidation for user: {}", invalidation.userId(), ex);
+                    }
+                });
+    }
+
+    @Override
+    public void subscribe(Consumer<WalletCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Atribuição manual de todas as partições (0 a partitions - 1), a partir do fim: sem grupo, sem
+     * rebalance e sem commit. Perder um aviso só prolonga a entrada até o TTL; nunca reprocessar.
+     */
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "${wallet.cache.invalidation.topic}",
+                    partitions = "#{'0-' + (${wallet.cache.invalidation.partitions} - 1)}",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0", seekPosition = "END")),
+            concurrency = "1"
+    )
+    public void onInvalidation(@Payload WalletCacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+}
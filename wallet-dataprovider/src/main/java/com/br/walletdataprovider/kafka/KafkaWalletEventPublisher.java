@@ -20,6 +20,8 @@ public class KafkaWalletEventPublisher implements WalletEventPublisher {
     private String walletEventsTopic;
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EventKeyStrategy keyStrategy;
+    private final PartitionSkewMetrics partitionMetrics;
 
     @Override
     public void publishWalletEvent(String eventType, Object payload) {
@@ -31,7 +33,8 @@ public class KafkaWalletEventPublisher implements WalletEventPublisher {
                     "eventId", UUID.randomUUID().toString()
             );
 
-            kafkaTemplate.send(walletEventsTopic, eventType, event);
+            kafkaTemplate.send(walletEventsTopic, keyStrategy.keyFor(eventType, payload), event)
+                    .thenAccept(result -> partitionMetrics.record(result.getRecordMetadata().partition()));
             log.info("Published event: {} to topic: {}", eventType, walletEventsTopic);
 
         } catch (Exception e) {
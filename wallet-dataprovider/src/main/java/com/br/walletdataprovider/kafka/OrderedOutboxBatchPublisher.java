@@ -0,0 +1,153 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes a batch as one chain per aggregate: the events of a wallet are sent one after the
+ * other, each only once the previous one was acknowledged, while the chains of different wallets
+ * run in parallel on a pool of workers. When a send fails the rest of that chain is deferred
+ * instead of overtaking it. Batches must be claimed by aggregate (see
+ * {@link #preservesAggregateOrder()}), so the wallet's events outside the batch wait as well and no
+ * other replica publishes them meanwhile.
+ * <p>
+ * Workers only serialize and hand records to the producer; waiting for acks does not hold a thread,
+ * so the number of chains in flight is not bounded by the pool size.
+ */
+@Slf4j
+public class OrderedOutboxBatchPublisher extends OutboxBatchPublisher implements AutoCloseable {
+
+    private final ExecutorService workers;
+
+    public OrderedOutboxBatchPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                       ObjectMapper objectMapper,
+                                       String topic,
+                                       String deadLetterTopic,
+                                       Duration sendTimeout,
+                                       int workers) {
+        super(kafkaTemplate, objectMapper, topic, deadLetterTopic, sendTimeout);
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofPlatform()
+                .name("outbox-publisher-", 0)
+                .daemon(true)
+                .factory());
+    }
+
+    @Override
+    public BatchResult publish(List<OutboxEventDocument> events) {
+        // Lote já vem ordenado por createdAt; o agrupamento preserva essa ordem dentro de cada carteira
+        Map<String, List<OutboxEventDocument>> chains = events.stream()
+                .collect(Collectors.groupingBy(OutboxEventDocument::getAggregateId, LinkedHashMap::new, Collectors.toList()));
+
+        Set<String> published = ConcurrentHashMap.newKeySet();
+        Map<String, String> failed = new ConcurrentHashMap<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        CompletableFuture<?>[] inFlight = chains.values().stream()
+                .map(chain -> publishInOrder(chain.iterator(), published, failed, cancelled))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(inFlight).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Outbox batch completed with failures: {}", e.getMessage());
+        }
+        // Nenhuma cadeia inicia novos envios depois daqui; o que ficou pendente vira falha ou adiamento
+        cancelled.set(true);
+
+        return settle(chains.values(), published, failed);
+    }
+
+    @Override
+    public boolean preservesAggregateOrder() {
+        return true;
+    }
+
+    private CompletableFuture<Void> publishInOrder(Iterator<OutboxEventDocument> chain,
+                                                   Set<String> published,
+                                                   Map<String, String> failed,
+                                                   AtomicBoolean cancelled) {
+        if (!chain.hasNext() || cancelled.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        OutboxEventDocument event = chain.next();
+        return CompletableFuture.supplyAsync(() -> sendQuietly(event), workers)
+                .thenCompose(Function.identity())
+                .handleAsync((ack, error) -> {
+                    if (error != null) {
+                        failed.put(event.getId(), errorMessage(error.getCause() != null ? error.getCause() : error));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    published.add(event.getId());
+                    return publishInOrder(chain, published, failed, cancelled);
+                }, workers)
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<?> sendQuietly(OutboxEventDocument event) {
+        try {
+            return send(event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Walks every chain in order: the first event that is neither published nor failed was still in
+     * flight at the timeout and counts as failed; everything after a failure is deferred to it.
+     */
+    private static BatchResult settle(Iterable<List<OutboxEventDocument>> chains,
+                                      Set<String> published,
+                                      Map<String, String> failed) {
+        List<String> publishedIds = new ArrayList<>();
+        Map<String, String> failedIds = new LinkedHashMap<>();
+        Map<String, String> deferred = new LinkedHashMap<>();
+
+        for (List<OutboxEventDocument> chain : chains) {
+            String blockedBy = null;
+            for (OutboxEventDocument event : chain) {
+                String eventId = event.getId();
+                if (blockedBy != null) {
+                    deferred.put(eventId, blockedBy);
+                } else if (published.contains(eventId)) {
+                    publishedIds.add(eventId);
+                } else {
+                    failedIds.put(eventId, failed.getOrDefault(eventId, "Send timed out"));
+                    blockedBy = eventId;
+                }
+            }
+        }
+
+        return new BatchResult(publishedIds, failedIds, deferred);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
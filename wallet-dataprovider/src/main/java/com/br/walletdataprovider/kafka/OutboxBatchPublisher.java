@@ -0,0 +1,150 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.fromBsonPayload;
+
+/**
+ * Publishes a batch of outbox events with every send in flight at once and waits for all of
+ * them together, so a batch costs roughly one Kafka round trip instead of one per event.
+ * The producer still keeps per-partition order (idempotence is enabled), but a failed send does not
+ * stop the later events of the same aggregate; {@link OrderedOutboxBatchPublisher} does.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxBatchPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final String deadLetterTopic;
+    protected final Duration sendTimeout;
+
+    public BatchResult publish(List<OutboxEventDocument> events) {
+        Map<String, CompletableFuture<?>> inFlight = new LinkedHashMap<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+
+        for (OutboxEventDocument event : events) {
+            try {
+                inFlight.put(event.getId(), send(event));
+            } catch (Exception e) {
+                failed.put(event.getId(), errorMessage(e));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.values().toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Falhas individuais são tratadas abaixo, futuro a futuro
+            log.debug("Outbox batch completed with failures: {}", e.getMessage());
+        }
+
+        List<String> published = new ArrayList<>(inFlight.size());
+        inFlight.forEach((eventId, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                published.add(eventId);
+            } else {
+                failed.put(eventId, future.isDone() ? errorMessage(future.exceptionNow()) : "Send timed out");
+            }
+        });
+
+        return new BatchResult(published, failed, Map.of());
+    }
+
+    /**
+     * Whether this publisher keeps each aggregate's events in order, which requires batches to be
+     * claimed by aggregate.
+     */
+    public boolean preservesAggregateOrder() {
+        return false;
+    }
+
+    /**
+     * Copies exhausted events to the dead-letter topic with their last error. Best effort: the
+     * parked state in Mongo stays the source of truth for replays.
+     */
+    public void publishDeadLetters(Map<OutboxEventDocument, String> exhausted) {
+        Map<String, CompletableFuture<?>> inFlight = new LinkedHashMap<>();
+        exhausted.forEach((event, errorMessage) -> {
+            try {
+                Map<String, Object> deadLetter = new LinkedHashMap<>(toKafkaEvent(event));
+                deadLetter.put("error", errorMessage);
+                deadLetter.put("retryCount", event.getRetryCount() + 1);
+                inFlight.put(event.getId(), kafkaTemplate.send(deadLetterTopic, event.getAggregateId(), deadLetter));
+            } catch (Exception e) {
+                log.error("Failed to build dead letter for outbox event: {}", event.getId(), e);
+            }
+        });
+
+        inFlight.forEach((eventId, future) -> {
+            try {
+                future.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.error("Failed to publish outbox event: {} to dead-letter topic", eventId, e);
+            }
+        });
+    }
+
+    protected CompletableFuture<?> send(OutboxEventDocument event) throws Exception {
+        return send(event, toKafkaEvent(event));
+    }
+
+    protected CompletableFuture<?> send(OutboxEventDocument event, Map<String, Object> kafkaEvent) {
+        return kafkaTemplate.send(topic, event.getAggregateId(), kafkaEvent);
+    }
+
+    protected Map<String, Object> toKafkaEvent(OutboxEventDocument event) throws Exception {
+        Object eventData;
+        if (event.getCompressedPayload() != null) {
+            // Já é o JSON final: vai como valor bruto, sem parse
+            eventData = new RawValue(new String(PayloadCompression.decompress(event.getCompressedPayload()), StandardCharsets.UTF_8));
+        } else if (event.getPayload() != null) {
+            eventData = fromBsonPayload(event.getPayload());
+        } else {
+            // Eventos gravados antes do payload BSON ainda trazem o JSON em string
+            eventData = objectMapper.readValue(event.getEventData(), Map.class);
+        }
+
+        return Map.of(
+                "eventId", event.getId(),
+                "eventType", event.getEventType(),
+                "aggregateId", event.getAggregateId(),
+                "payload", eventData,
+                "createdAt", event.getCreatedAt().toString(),
+                "correlationId", event.getCorrelationId(),
+                "timestamp", event.getCreatedAt().toString()
+        );
+    }
+
+    protected static String errorMessage(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Event ids split by outcome; failures keep their error message and deferred events (never sent
+     * because an earlier event of the same aggregate failed) map to the id of that event.
+     */
+    public record BatchResult(List<String> published, Map<String, String> failed, Map<String, String> deferred) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.br.walletdataprovider.mongodb.document.OutboxRelayStateDocument;
+import com.br.walletdataprovider.mongodb.repository.OutboxRelayStateMongoRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays outbox events as soon as they are inserted by tailing a change stream on
+ * {@code outbox_events}, instead of polling. Each notification triggers the same leased drain as
+ * the poller, so replicas watching the same stream still publish every event once.
+ * <p>
+ * The resume token is persisted after every drain. On start the relay resumes from it and drains
+ * the backlog once. Retries scheduled with backoff and replayed events produce no insert, so the
+ * relay also sweeps the outbox whenever it has been idle for the sweep interval. If change streams
+ * are unavailable (standalone server) the relay hands over
+ * to the scheduled poller.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "wallet.outbox.relay.mode", havingValue = "change-stream")
+public class OutboxChangeStreamRelay implements SmartLifecycle {
+
+    private static final String RELAY_ID = "outbox-change-stream";
+    private static final long MAX_AWAIT_MILLIS = 1_000;
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+    // 40573/20: servidor sem replica set; 286: token fora da janela do oplog
+    private static final Set<Integer> CHANGE_STREAM_UNSUPPORTED = Set.of(40573, 20);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxRelayStateMongoRepository relayStateRepository;
+    private final ObjectProvider<OutboxEventProcessor> processorProvider;
+
+    @Value("${wallet.outbox.relay.sweep-interval}")
+    private Duration sweepInterval;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        OutboxEventProcessor processor = processorProvider.getIfAvailable();
+        if (processor == null) {
+            log.warn("Outbox change stream relay not started: outbox processing is disabled");
+            return;
+        }
+        running = true;
+        worker = new Thread(() -> run(processor), "outbox-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(MAX_AWAIT_MILLIS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run(OutboxEventProcessor processor) {
+        boolean caughtUp = false;
+
+        while (running) {
+            try {
+                if (!caughtUp) {
+                    processor.drainAll();
+                    caughtUp = true;
+                }
+                tail(processor);
+            } catch (MongoCommandException e) {
+                if (CHANGE_STREAM_UNSUPPORTED.contains(e.getErrorCode())) {
+                    log.warn("Change streams unavailable ({}), falling back to polling", e.getErrorMessage());
+                    processor.enablePollingFallback();
+                    running = false;
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Outbox resume token expired, restarting change stream after a full drain");
+                    relayStateRepository.deleteById(RELAY_ID);
+                    caughtUp = false;
+                    continue;
+                }
+                pauseAfterFailure(e);
+            } catch (RuntimeException e) {
+                if (running) {
+                    pauseAfterFailure(e);
+                }
+            }
+        }
+    }
+
+    private void tail(OutboxEventProcessor processor) {
+        var watch = mongoTemplate.getCollection(mongoTemplate.getCollectionName(OutboxEventDocument.class))
+                .watch(List.of(Aggregates.match(Filters.eq("operationType", "insert"))))
+                .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+
+        BsonDocument resumeToken = loadResumeToken();
+        if (resumeToken != null) {
+            watch = watch.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch.cursor()) {
+            log.info("Outbox change stream relay started (resuming: {})", resumeToken != null);
+            long nextSweep = System.nanoTime() + sweepInterval.toNanos();
+            while (running) {
+                if (cursor.tryNext() == null) {
+                    if (System.nanoTime() - nextSweep >= 0) {
+                        processor.drainAll();
+                        nextSweep = System.nanoTime() + sweepInterval.toNanos();
+                    }
+                    continue;
+                }
+                // Um drain cobre todos os inserts já notificados: descarta as notificações em buffer
+                while (cursor.available() > 0) {
+                    cursor.next();
+                }
+                processor.drainAll();
+                saveResumeToken(cursor.getResumeToken());
+                nextSweep = System.nanoTime() + sweepInterval.toNanos();
+            }
+        }
+    }
+
+    private BsonDocument loadResumeToken() {
+        return relayStateRepository.findById(RELAY_ID)
+                .map(OutboxRelayStateDocument::getResumeToken)
+                .map(BsonDocument::parse)
+                .orElse(null);
+    }
+
+    private void saveResumeToken(BsonDocument resumeToken) {
+        if (resumeToken == null) {
+            return;
+        }
+        relayStateRepository.save(OutboxRelayStateDocument.builder()
+                .id(RELAY_ID)
+                .resumeToken(resumeToken.toJson())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void pauseAfterFailure(RuntimeException e) {
+        log.error("Outbox change stream failed, reopening in {} ms", RETRY_DELAY_MILLIS, e);
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
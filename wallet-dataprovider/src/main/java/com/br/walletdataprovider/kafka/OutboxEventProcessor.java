@@ -2,109 +2,198 @@ package com.br.walletdataprovider.kafka;
 
 import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
 import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepositoryCustom.DeferredEvent;
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepositoryCustom.FailedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(value = "wallet.outbox.scheduler.enabled", havingValue = "true")
-public class OutboxEventProcessor {
+public class OutboxEventProcessor implements SchedulingConfigurer {
+
+    private static final String CHANGE_STREAM_MODE = "change-stream";
 
     private final OutboxEventMongoRepository outboxRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxBatchPublisher batchPublisher;
+    private final AdaptiveOutboxPolling polling;
 
-    @Value("${wallet.outbox.batch-size}")
-    private int batchSize;
+    // Identifica esta réplica nos leases (lockedBy)
+    private final String instanceId = UUID.randomUUID().toString();
 
     @Value("${wallet.outbox.max-retries}")
     private int maxRetries;
 
-    @Value("${wallet.kafka.topics.wallet-outbox.name}")
-    private String walletOutboxTopicName;
-
     @Value("${wallet.audit.enabled}")
     private boolean auditEnabled;
 
-    @Scheduled(fixedDelayString = "${wallet.outbox.scheduler.fixed-delay}",
-            initialDelayString = "${wallet.outbox.scheduler.initial-delay}")
+    @Value("${wallet.outbox.lease-duration}")
+    private Duration leaseDuration;
+
+    @Value("${wallet.outbox.retry.base-delay}")
+    private Duration retryBaseDelay;
+
+    @Value("${wallet.outbox.retry.max-delay}")
+    private Duration retryMaxDelay;
+
+    @Value("${wallet.outbox.relay.mode}")
+    private String relayMode;
+
+    // Ligado pelo relay de change stream quando o servidor não suporta change streams
+    private volatile boolean pollingFallback;
+
+    @Value("${wallet.outbox.scheduler.initial-delay}")
+    private Duration initialDelay;
+
+    /**
+     * Registers the poll with a trigger that reads the adaptive delay after every run, instead of a
+     * fixed-delay {@code @Scheduled}.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addTriggerTask(this::processOutboxEvents, context -> {
+            Instant lastCompletion = context.lastCompletion();
+            return lastCompletion == null
+                    ? Instant.now().plus(initialDelay)
+                    : lastCompletion.plus(polling.delay());
+        });
+    }
+
     public void processOutboxEvents() {
-        if (!auditEnabled) {
-            log.trace("Audit disabled, skipping outbox processing");
+        if (CHANGE_STREAM_MODE.equals(relayMode) && !pollingFallback) {
             return;
         }
 
         log.debug("Processing outbox events...");
 
-        List<OutboxEventDocument> unprocessedEvents = outboxRepository
-                .findUnprocessedEventsOlderThan(LocalDateTime.now().minusSeconds(1))
-                .stream()
-                .limit(batchSize)
-                .toList();
+        // Carência de 1s: o polling não deve pegar eventos de transações ainda não confirmadas
+        int requested = polling.batchSize();
+        polling.onBatch(requested, drainBatch(LocalDateTime.now().minusSeconds(1), requested));
+    }
 
-        if (unprocessedEvents.isEmpty()) {
-            return;
+    /**
+     * Drains batches until the backlog is empty or a batch has failures (those wait for their next
+     * attempt instead of being retried in a tight loop). Used by the change stream relay, which is
+     * only notified of committed inserts and therefore needs no grace period.
+     */
+    public void drainAll() {
+        int requested = polling.batchSize();
+        while (polling.onBatch(requested, drainBatch(LocalDateTime.now(), requested))) {
+            log.debug("Outbox batch full, draining next batch");
+            requested = polling.batchSize();
         }
+    }
 
-        log.info("Processing {} outbox events", unprocessedEvents.size());
+    public void enablePollingFallback() {
+        pollingFallback = true;
+    }
 
-        for (OutboxEventDocument event : unprocessedEvents) {
-            try {
-                publishEventToKafka(event);
-                markAsProcessed(event);
-                log.debug("Successfully processed outbox event: {}", event.getId());
-            } catch (Exception e) {
-                handleProcessingError(event, e);
-            }
+    /**
+     * @return number of events published by this call
+     */
+    private int drainBatch(LocalDateTime createdBefore, int batchSize) {
+        if (!auditEnabled) {
+            log.trace("Audit disabled, skipping outbox processing");
+            return 0;
         }
-    }
 
-    private void publishEventToKafka(OutboxEventDocument event) throws Exception {
-        Object eventData = objectMapper.readValue(event.getEventData(), Map.class);
-
-        Map<String, Object> kafkaEvent = Map.of(
-                "eventId", event.getId(),
-                "eventType", event.getEventType(),
-                "aggregateId", event.getAggregateId(),
-                "payload", eventData,
-                "createdAt", event.getCreatedAt().toString(),
-                "correlationId", event.getCorrelationId(),
-                "timestamp", event.getCreatedAt().toString()
-        );
-
-        kafkaTemplate.send(walletOutboxTopicName, event.getAggregateId(), kafkaEvent).get();
-        log.info("Event sent to wallet-outbox topic: {}", event.getId());
-    }
+        // Cada réplica recebe um lote disjunto; leases expirados de réplicas que caíram voltam a ser reivindicáveis
+        List<OutboxEventDocument> unprocessedEvents = batchPublisher.preservesAggregateOrder()
+                ? outboxRepository.claimOrderedBatch(instanceId, createdBefore, batchSize, leaseDuration)
+                : outboxRepository.claimBatch(instanceId, createdBefore, batchSize, leaseDuration);
+
+        if (unprocessedEvents.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Processing {} outbox events claimed by {}", unprocessedEvents.size(), instanceId);
 
+        OutboxBatchPublisher.BatchResult result = batchPublisher.publish(unprocessedEvents);
+        List<FailedEvent> failedEvents = result.failed().isEmpty()
+                ? List.of()
+                : handleProcessingErrors(unprocessedEvents, result.failed());
+        List<DeferredEvent> deferredEvents = deferBehind(failedEvents, result.deferred());
 
-    private void markAsProcessed(OutboxEventDocument event) {
-        event.setProcessed(true);
-        event.setProcessedAt(LocalDateTime.now());
-        outboxRepository.save(event);
+        String claimId = unprocessedEvents.getFirst().getLockedBy();
+        int acknowledged = outboxRepository.acknowledge(claimId, result.published(), failedEvents, deferredEvents);
+        if (acknowledged < unprocessedEvents.size()) {
+            log.warn("Lease lost before completion of {} outbox events", unprocessedEvents.size() - acknowledged);
+        }
+
+        log.info("Outbox batch done: {} published, {} failed, {} deferred",
+                result.published().size(), result.failed().size(), result.deferred().size());
+        return result.published().size();
     }
 
-    private void handleProcessingError(OutboxEventDocument event, Exception e) {
-        log.error("Failed to process outbox event: {}", event.getId(), e);
+    /**
+     * Schedules the next attempt with exponential backoff, or parks the events that exhausted their
+     * retries after copying them to the dead-letter topic.
+     */
+    private List<FailedEvent> handleProcessingErrors(List<OutboxEventDocument> events, Map<String, String> failed) {
+        Map<String, OutboxEventDocument> byId = events.stream()
+                .collect(Collectors.toMap(OutboxEventDocument::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FailedEvent> failedEvents = new ArrayList<>(failed.size());
+        Map<OutboxEventDocument, String> exhausted = new LinkedHashMap<>();
+
+        failed.forEach((eventId, errorMessage) -> {
+            log.error("Failed to process outbox event: {} - {}", eventId, errorMessage);
+
+            OutboxEventDocument event = byId.get(eventId);
+            int attempts = event.getRetryCount() + 1;
+            if (attempts >= maxRetries) {
+                log.error("Max retries ({}) reached for outbox event: {}. Moving to DLQ.", maxRetries, eventId);
+                exhausted.put(event, errorMessage);
+                failedEvents.add(new FailedEvent(eventId, errorMessage, null, true));
+            } else {
+                failedEvents.add(new FailedEvent(eventId, errorMessage, now.plus(backoff(attempts)), false));
+            }
+        });
 
-        event.setRetryCount(event.getRetryCount() + 1);
-        event.setErrorMessage(e.getMessage());
+        if (!exhausted.isEmpty()) {
+            batchPublisher.publishDeadLetters(exhausted);
+        }
+        return failedEvents;
+    }
 
-        if (event.getRetryCount() >= maxRetries) {
-            log.error("Max retries ({}) reached for outbox event: {}. Moving to DLQ.", maxRetries, event.getId());
-            // In production, implement Dead Letter Queue
+    /**
+     * Deferred events become claimable together with the event that blocked them (right away when it
+     * was parked), so the next claim, ordered by createdAt, hands the chain over in its original order.
+     */
+    private static List<DeferredEvent> deferBehind(List<FailedEvent> failedEvents, Map<String, String> deferred) {
+        if (deferred.isEmpty()) {
+            return List.of();
         }
+        Map<String, FailedEvent> failedById = failedEvents.stream()
+                .collect(Collectors.toMap(FailedEvent::eventId, Function.identity()));
+
+        return deferred.entrySet().stream()
+                .map(entry -> new DeferredEvent(entry.getKey(), failedById.get(entry.getValue()).nextAttemptAt()))
+                .toList();
+    }
 
-        outboxRepository.save(event);
+    private Duration backoff(int attempts) {
+        // base * 2^(tentativas-1), limitado a retry.max-delay
+        long multiplier = 1L << Math.min(attempts - 1, 30);
+        Duration delay = retryBaseDelay.multipliedBy(multiplier);
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
     }
-}
\ No newline at end of file
+}
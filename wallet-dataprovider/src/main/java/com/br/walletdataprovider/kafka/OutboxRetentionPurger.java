@@ -0,0 +1,47 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes processed outbox events older than the retention period, in bounded batches so a large
+ * backlog never turns into a single long-running delete. Pending and failed events are never purged.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "wallet.outbox.retention.enabled", havingValue = "true")
+public class OutboxRetentionPurger {
+
+    private final OutboxEventMongoRepository outboxRepository;
+
+    @Value("${wallet.outbox.retention.period}")
+    private Duration retention;
+
+    @Value("${wallet.outbox.retention.batch-size}")
+    private int batchSize;
+
+    @Scheduled(cron = "${wallet.outbox.retention.cron}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        long deleted;
+
+        do {
+            deleted = outboxRepository.purgeProcessedBefore(cutoff, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} processed outbox events older than {}", purged, cutoff);
+        }
+    }
+}
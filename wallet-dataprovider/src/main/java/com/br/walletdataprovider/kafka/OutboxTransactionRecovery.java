@@ -0,0 +1,105 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepository;
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepositoryCustom.CommittingBatch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetOutOfRangeException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Settles batches left marked as committing by a replica that died around the Kafka commit. The
+ * marked record position is read with {@code read_committed}: if the record is returned the
+ * transaction was committed and the events are marked processed; if the consumer moves past it
+ * the transaction was aborted and the events are released. While the transaction is still open
+ * (its producer has not been fenced or timed out yet) nothing is decided.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "wallet.outbox.publish.mode", havingValue = "transactional")
+public class OutboxTransactionRecovery {
+
+    private static final int MAX_BATCHES_PER_RUN = 100;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int MAX_POLLS = 10;
+
+    private final OutboxEventMongoRepository outboxRepository;
+    private final ConsumerFactory<Object, Object> consumerFactory;
+
+    @Value("${wallet.kafka.topics.wallet-outbox.name}")
+    private String topic;
+
+    @Scheduled(fixedDelayString = "${wallet.outbox.lease-duration}",
+            initialDelayString = "${wallet.outbox.scheduler.initial-delay}")
+    public void recoverStaleBatches() {
+        List<CommittingBatch> stale = outboxRepository.findStaleCommittingBatches(MAX_BATCHES_PER_RUN);
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        log.warn("Recovering {} outbox batches left committing by a failed replica", stale.size());
+        try (Consumer<Object, Object> consumer = readCommittedConsumer()) {
+            for (CommittingBatch batch : stale) {
+                Boolean committed = wasCommitted(consumer, batch);
+                if (committed == null) {
+                    log.info("Outbox transaction {} still undecided, retrying later", batch.batchId());
+                    continue;
+                }
+                long settled = outboxRepository.resolveCommittingBatch(batch.batchId(), committed);
+                log.info("Outbox transaction {} was {}: {} events settled",
+                        batch.batchId(), committed ? "committed" : "aborted", settled);
+            }
+        }
+    }
+
+    /**
+     * @return whether the record at the batch position is visible to read_committed consumers, or
+     * null while the transaction is still open
+     */
+    private Boolean wasCommitted(Consumer<Object, Object> consumer, CommittingBatch batch) {
+        TopicPartition partition = new TopicPartition(topic, batch.partition());
+        consumer.assign(List.of(partition));
+        consumer.seek(partition, batch.offset());
+
+        try {
+            for (int i = 0; i < MAX_POLLS; i++) {
+                List<ConsumerRecord<Object, Object>> records = consumer.poll(POLL_TIMEOUT).records(partition);
+                if (!records.isEmpty()) {
+                    // Registros abortados são filtrados: se o primeiro visível não é o da posição, houve aborto
+                    return records.getFirst().offset() == batch.offset();
+                }
+                if (consumer.position(partition) > batch.offset()) {
+                    return false;
+                }
+            }
+        } catch (OffsetOutOfRangeException e) {
+            log.error("Position of outbox transaction {} is no longer retained by Kafka, settle it manually",
+                    batch.batchId(), e);
+        }
+        return null;
+    }
+
+    private Consumer<Object, Object> readCommittedConsumer() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "none");
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return consumerFactory.createConsumer(null, "outbox-recovery", null, overrides);
+    }
+}
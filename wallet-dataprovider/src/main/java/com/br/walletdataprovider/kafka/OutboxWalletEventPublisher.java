@@ -10,10 +10,13 @@ import org.springframework.beans.factory.annotation.Value;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.br.walletdataprovider.utils.EventPayloadAccessor.cleanPayloadForSerialization;
 import static com.br.walletdataprovider.utils.EventPayloadAccessor.extractStringValue;
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.extractWalletId;
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.toBsonPayload;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -28,6 +31,9 @@ public class OutboxWalletEventPublisher implements OutboxEventPublisher {
     @Value("${wallet.outbox.max-retries}")
     private int maxRetries;
 
+    @Value("${wallet.outbox.payload-compression}")
+    private PayloadCompression payloadCompression;
+
     @Override
     public void publishOutboxEvent(String eventType, Object payload) {
         if (!auditEnabled) {
@@ -37,16 +43,24 @@ public class OutboxWalletEventPublisher implements OutboxEventPublisher {
 
         try {
             Object processedPayload = cleanPayloadForSerialization(payload, List.of("timestamp"));
-            String eventData = objectMapper.writeValueAsString(processedPayload);
+            Map<?, ?> eventPayload = processedPayload instanceof Map<?, ?> map
+                    ? map
+                    : objectMapper.convertValue(processedPayload, Map.class);
             String correlationId = extractStringValue(processedPayload, "correlationId")
                     .orElse(UUID.randomUUID().toString());
-            String aggregateId = extractStringValue(processedPayload, "walletId").orElse("unknown");
+            String aggregateId = extractWalletId(processedPayload).orElse("unknown");
+
+            var builder = OutboxEventDocument.builder();
+            if (payloadCompression == PayloadCompression.NONE) {
+                builder.payload(toBsonPayload(eventPayload));
+            } else {
+                builder.compressedPayload(payloadCompression.compress(objectMapper.writeValueAsBytes(eventPayload)));
+            }
 
-            var outboxEvent = OutboxEventDocument.builder()
+            var outboxEvent = builder
                     .id(UUID.randomUUID().toString())
                     .aggregateId(aggregateId)
                     .eventType(eventType)
-                    .eventData(eventData)
                     .createdAt(LocalDateTime.now())
                     .processed(false)
                     .retryCount(0)
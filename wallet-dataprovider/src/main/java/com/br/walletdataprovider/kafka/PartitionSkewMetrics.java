@@ -0,0 +1,66 @@
+package com.br.walletdataprovider.kafka;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records per partition of one topic, from the metadata of acknowledged sends, and the resulting
+ * skew: records in the busiest partition divided by the mean per partition. 1.0 means an even
+ * spread; with every record on a single partition it equals the partition count.
+ */
+public class PartitionSkewMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String topic;
+    private final int configuredPartitions;
+    private final Map<Integer, AtomicLong> recordsByPartition = new ConcurrentHashMap<>();
+
+    public PartitionSkewMetrics(MeterRegistry meterRegistry, String topic, int configuredPartitions) {
+        if (configuredPartitions <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        this.meterRegistry = meterRegistry;
+        this.topic = topic;
+        this.configuredPartitions = configuredPartitions;
+
+        Gauge.builder("wallet.kafka.partition.skew", this, PartitionSkewMetrics::skew)
+                .description("Records in the busiest partition over the mean records per partition")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+
+    public void record(int partition) {
+        recordsByPartition.computeIfAbsent(partition, this::register).incrementAndGet();
+    }
+
+    double skew() {
+        long total = 0;
+        long max = 0;
+        for (AtomicLong records : recordsByPartition.values()) {
+            long count = records.get();
+            total += count;
+            max = Math.max(max, count);
+        }
+        if (total == 0) {
+            return 1.0;
+        }
+        // Partições sem nenhum registro também contam na média (é justamente o caso da partição quente)
+        int partitions = Math.max(configuredPartitions, recordsByPartition.size());
+        return max / ((double) total / partitions);
+    }
+
+    private AtomicLong register(int partition) {
+        AtomicLong records = new AtomicLong();
+        FunctionCounter.builder("wallet.kafka.partition.records", records, AtomicLong::get)
+                .description("Records acknowledged per partition")
+                .tag("topic", topic)
+                .tag("partition", String.valueOf(partition))
+                .register(meterRegistry);
+        return records;
+    }
+}
@@ -0,0 +1,105 @@
+package com.br.walletdataprovider.kafka;
+
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Block codecs for outbox payloads. A compressed payload is one header byte with the codec id,
+ * the original length (4 bytes) and the compressed block, so it can always be read back no matter
+ * which codec is configured when it is consumed.
+ */
+public enum PayloadCompression {
+
+    NONE(0) {
+        @Override
+        byte[] compressBlock(byte[] data) {
+            return data;
+        }
+
+        @Override
+        byte[] decompressBlock(byte[] block, int originalLength) {
+            return block;
+        }
+    },
+
+    LZ4(1) {
+        @Override
+        byte[] compressBlock(byte[] data) {
+            return LZ4_COMPRESSOR.compress(data);
+        }
+
+        @Override
+        byte[] decompressBlock(byte[] block, int originalLength) {
+            return LZ4_DECOMPRESSOR.decompress(block, originalLength);
+        }
+    },
+
+    ZSTD(2) {
+        @Override
+        byte[] compressBlock(byte[] data) {
+            return ZSTD_COMPRESS.get().compress(data);
+        }
+
+        @Override
+        byte[] decompressBlock(byte[] block, int originalLength) {
+            return ZSTD_DECOMPRESS.get().decompress(block, originalLength);
+        }
+    };
+
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES;
+    private static final int ZSTD_LEVEL = 3;
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+    // Criar um contexto zstd por chamada custa mais que comprimir um payload pequeno
+    private static final ThreadLocal<ZstdCompressCtx> ZSTD_COMPRESS =
+            ThreadLocal.withInitial(() -> new ZstdCompressCtx().setLevel(ZSTD_LEVEL));
+    private static final ThreadLocal<ZstdDecompressCtx> ZSTD_DECOMPRESS = ThreadLocal.withInitial(ZstdDecompressCtx::new);
+
+    private final byte id;
+
+    PayloadCompression(int id) {
+        this.id = (byte) id;
+    }
+
+    abstract byte[] compressBlock(byte[] data);
+
+    abstract byte[] decompressBlock(byte[] block, int originalLength);
+
+    /**
+     * Frames {@code data} with this codec, falling back to {@link #NONE} when compression does not
+     * make it smaller (short payloads).
+     */
+    public byte[] compress(byte[] data) {
+        byte[] block = compressBlock(data);
+        if (this != NONE && block.length >= data.length) {
+            return NONE.compress(data);
+        }
+        return ByteBuffer.allocate(HEADER_LENGTH + block.length)
+                .put(id)
+                .putInt(data.length)
+                .put(block)
+                .array();
+    }
+
+    public static byte[] decompress(byte[] framed) {
+        ByteBuffer buffer = ByteBuffer.wrap(framed);
+        PayloadCompression codec = fromId(buffer.get());
+        int originalLength = buffer.getInt();
+        return codec.decompressBlock(Arrays.copyOfRange(framed, HEADER_LENGTH, framed.length), originalLength);
+    }
+
+    private static PayloadCompression fromId(byte id) {
+        for (PayloadCompression codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payload codec: " + id);
+    }
+}
@@ -0,0 +1,124 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes each claimed batch inside one Kafka transaction: consumers reading with
+ * {@code isolation.level=read_committed} see the whole batch or none of it, and the commit cost is
+ * paid once per batch.
+ * <p>
+ * Before committing, the events are marked in Mongo with the batch id and the position of one of
+ * the batch records. If the replica dies after the commit but before the acknowledgment, the
+ * batch is not claimed again; {@link OutboxTransactionRecovery} reads that position to learn
+ * whether the transaction was committed and settles the events without republishing them.
+ */
+@Slf4j
+public class TransactionalOutboxBatchPublisher extends OutboxBatchPublisher implements AutoCloseable {
+
+    private final KafkaTemplate<String, Object> transactionalTemplate;
+    private final OutboxEventMongoRepository outboxRepository;
+
+    public TransactionalOutboxBatchPublisher(KafkaTemplate<String, Object> transactionalTemplate,
+                                             ObjectMapper objectMapper,
+                                             OutboxEventMongoRepository outboxRepository,
+                                             String topic,
+                                             String deadLetterTopic,
+                                             Duration sendTimeout) {
+        super(transactionalTemplate, objectMapper, topic, deadLetterTopic, sendTimeout);
+        this.transactionalTemplate = transactionalTemplate;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public BatchResult publish(List<OutboxEventDocument> events) {
+        String batchId = events.getFirst().getLockedBy();
+
+        // Montado fora da transação: um evento com payload ilegível falha sozinho, sem abortar o lote inteiro
+        List<PreparedRecord> records = new ArrayList<>(events.size());
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (OutboxEventDocument event : events) {
+            try {
+                records.add(new PreparedRecord(event, toKafkaEvent(event)));
+            } catch (Exception e) {
+                log.error("Failed to build Kafka record for outbox event: {}", event.getId(), e);
+                failed.put(event.getId(), errorMessage(e));
+            }
+        }
+        if (records.isEmpty()) {
+            return new BatchResult(List.of(), failed, Map.of());
+        }
+
+        AtomicBoolean commitStarted = new AtomicBoolean();
+        try {
+            transactionalTemplate.executeInTransaction(operations -> {
+                try {
+                    sendAll(records, batchId);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KafkaException("Interrupted while sending outbox batch " + batchId, e);
+                } catch (Exception e) {
+                    throw new KafkaException("Failed to send outbox batch " + batchId, e);
+                }
+                commitStarted.set(true);
+                return null;
+            });
+        } catch (Exception e) {
+            if (commitStarted.get()) {
+                // Resultado do commit desconhecido: o lote fica marcado e a recuperação decide após o lease
+                log.error("Commit of outbox transaction {} failed, leaving it to recovery", batchId, e);
+                return new BatchResult(List.of(), failed, Map.of());
+            }
+            log.error("Outbox transaction {} aborted", batchId, e);
+            String errorMessage = errorMessage(e.getCause() != null ? e.getCause() : e);
+            records.forEach(record -> failed.put(record.event().getId(), errorMessage));
+            return new BatchResult(List.of(), failed, Map.of());
+        }
+
+        return new BatchResult(eventIds(records), failed, Map.of());
+    }
+
+    @Override
+    public void close() {
+        transactionalTemplate.getProducerFactory().reset();
+    }
+
+    /**
+     * Sends the prebuilt records within the running transaction and marks their events as committing;
+     * any failure aborts the transaction.
+     */
+    private void sendAll(List<PreparedRecord> records, String batchId) throws Exception {
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(records.size());
+        records.forEach(record -> inFlight.add(send(record.event(), record.kafkaEvent())));
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        List<String> eventIds = eventIds(records);
+        var first = ((SendResult<?, ?>) inFlight.getFirst().get()).getRecordMetadata();
+        int marked = outboxRepository.markCommitting(batchId, eventIds, first.partition(), first.offset());
+        if (marked < eventIds.size()) {
+            throw new IllegalStateException("Lease lost for " + (eventIds.size() - marked) + " events of batch " + batchId);
+        }
+    }
+
+    private static List<String> eventIds(List<PreparedRecord> records) {
+        return records.stream().map(record -> record.event().getId()).toList();
+    }
+
+    private record PreparedRecord(OutboxEventDocument event, Map<String, Object> kafkaEvent) {
+    }
+}
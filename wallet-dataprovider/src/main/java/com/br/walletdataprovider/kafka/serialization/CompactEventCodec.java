@@ -0,0 +1,304 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import com.br.walletdataprovider.kafka.serialization.EventSchema.Field;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema-driven binary encoding of the event envelopes sent to Kafka ({@code eventType},
+ * {@code payload} and the string metadata fields). Field names are not written: a message is
+ * <pre>
+ * format version (1 byte) | schema id (varint) | envelope presence bits (varint) | envelope strings
+ *                         | payload presence bits (varint) | payload fields in schema order
+ * </pre>
+ * Strings are a varint length plus UTF-8; decimals a scale header plus a zigzag varint, or the
+ * two's-complement bytes when the unscaled value does not fit in a long. Keys missing from the
+ * schema are rejected rather than dropped, so adding a field forces a new schema version.
+ */
+public class CompactEventCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final String EVENT_TYPE = "eventType";
+    private static final String PAYLOAD = "payload";
+    private static final List<String> ENVELOPE_FIELDS =
+            List.of("eventId", "aggregateId", "correlationId", "createdAt", "timestamp");
+    private static final List<String> ENVELOPE_KEYS =
+            List.of(EVENT_TYPE, PAYLOAD, "eventId", "aggregateId", "correlationId", "createdAt", "timestamp");
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final LocalEventSchemaRegistry registry;
+    // Payloads comprimidos do outbox chegam como JSON bruto; decimais precisam continuar BigDecimal
+    private final ObjectReader rawPayloadReader = new ObjectMapper().readerFor(Map.class)
+            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    public CompactEventCodec(LocalEventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    public byte[] encode(Map<?, ?> event) {
+        if (!(event.get(EVENT_TYPE) instanceof String eventType)) {
+            throw new IllegalArgumentException("Event without eventType cannot be encoded");
+        }
+        EventSchema schema = registry.latest(eventType);
+        Map<?, ?> payload = payloadOf(event.get(PAYLOAD));
+
+        Output out = new Output(INITIAL_BUFFER_SIZE);
+        out.writeByte(FORMAT_VERSION);
+        out.writeVarLong(schema.id());
+
+        int envelopeKeys = 1 + (event.containsKey(PAYLOAD) ? 1 : 0);
+        envelopeKeys += writeStrings(out, event, ENVELOPE_FIELDS);
+        if (envelopeKeys != event.size()) {
+            rejectUnknownKeys(event, ENVELOPE_KEYS, "envelope of " + eventType);
+        }
+
+        long presence = 0;
+        int present = 0;
+        List<Field> fields = schema.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            if (payload.get(fields.get(i).name()) != null) {
+                presence |= 1L << i;
+                present++;
+            }
+        }
+        if (present != payload.size()) {
+            rejectUnknownKeys(payload, fields.stream().map(Field::name).toList(),
+                    eventType + " v" + schema.version());
+        }
+        out.writeVarLong(presence);
+        for (int i = 0; i < fields.size(); i++) {
+            if ((presence & (1L << i)) != 0) {
+                writeField(out, fields.get(i), payload.get(fields.get(i).name()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public Map<String, Object> decode(byte[] data) {
+        Input in = new Input(data);
+        byte format = in.readByte();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact event format: " + format);
+        }
+        EventSchema schema = registry.byId((int) in.readVarLong());
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put(EVENT_TYPE, schema.eventType());
+        long envelopePresence = in.readVarLong();
+        for (int i = 0; i < ENVELOPE_FIELDS.size(); i++) {
+            if ((envelopePresence & (1L << i)) != 0) {
+                event.put(ENVELOPE_FIELDS.get(i), in.readString());
+            }
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        long presence = in.readVarLong();
+        List<Field> fields = schema.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            if ((presence & (1L << i)) != 0) {
+                Field field = fields.get(i);
+                payload.put(field.name(), switch (field.type()) {
+                    case STRING -> in.readString();
+                    case DECIMAL -> in.readDecimal();
+                });
+            }
+        }
+        event.put(PAYLOAD, payload);
+        return event;
+    }
+
+    private Map<?, ?> payloadOf(Object payload) {
+        if (payload == null) {
+            return Map.of();
+        }
+        if (payload instanceof Map<?, ?> map) {
+            return map;
+        }
+        if (payload instanceof RawValue raw) {
+            try {
+                return rawPayloadReader.readValue(String.valueOf(raw.rawValue()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable raw event payload", e);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported event payload type: " + payload.getClass().getName());
+    }
+
+    private static int writeStrings(Output out, Map<?, ?> source, List<String> names) {
+        long presence = 0;
+        for (int i = 0; i < names.size(); i++) {
+            if (source.get(names.get(i)) != null) {
+                presence |= 1L << i;
+            }
+        }
+        out.writeVarLong(presence);
+        for (int i = 0; i < names.size(); i++) {
+            if ((presence & (1L << i)) != 0) {
+                out.writeString(source.get(names.get(i)).toString());
+            }
+        }
+        return Long.bitCount(presence);
+    }
+
+    private static void writeField(Output out, Field field, Object value) {
+        switch (field.type()) {
+            case STRING -> out.writeString(value.toString());
+            case DECIMAL -> {
+                if (!(value instanceof Number number)) {
+                    throw new IllegalArgumentException("Field " + field.name() + " is not a number: " + value);
+                }
+                out.writeDecimal(number instanceof BigDecimal decimal ? decimal : new BigDecimal(number.toString()));
+            }
+        }
+    }
+
+    private static void rejectUnknownKeys(Map<?, ?> source, List<String> known, String context) {
+        List<String> unknown = source.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .map(entry -> String.valueOf(entry.getKey()))
+                .filter(key -> !known.contains(key))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Fields " + unknown + " are not in the schema of " + context);
+        }
+    }
+
+    private static final class Output {
+        private byte[] buffer;
+        private int position;
+
+        Output(int initialSize) {
+            buffer = new byte[initialSize];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            BigInteger unscaled = value.unscaledValue();
+            boolean fitsInLong = unscaled.bitLength() < Long.SIZE;
+            // Bit menos significativo do cabeçalho indica a forma do valor sem escala
+            writeVarLong(zigzag(value.scale()) << 1 | (fitsInLong ? 0 : 1));
+            if (fitsInLong) {
+                writeVarLong(zigzag(unscaled.longValue()));
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                writeVarLong(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            checkAvailable(1);
+            return buffer[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in compact event");
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            long header = readVarLong();
+            int scale = (int) unzigzag(header >>> 1);
+            if ((header & 1) == 0) {
+                return BigDecimal.valueOf(unzigzag(readVarLong()), scale);
+            }
+            int length = readLength();
+            BigInteger unscaled = new BigInteger(buffer, position, length);
+            position += length;
+            return new BigDecimal(unscaled, scale);
+        }
+
+        private int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated compact event");
+            }
+            return (int) length;
+        }
+
+        private void checkAvailable(int count) {
+            if (position + count > buffer.length) {
+                throw new IllegalArgumentException("Truncated compact event");
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * Counterpart of {@link CompactEventSerializer}: yields the same {@code Map<String, Object>} shape
+ * listeners get from the JSON path, with decimals as {@link java.math.BigDecimal}.
+ */
+public class CompactEventDeserializer implements Deserializer<Map<String, Object>> {
+
+    private final CompactEventCodec codec;
+
+    public CompactEventDeserializer() {
+        this(new CompactEventCodec(LocalEventSchemaRegistry.shared()));
+    }
+
+    public CompactEventDeserializer(CompactEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Map<String, Object> deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to decode event from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value serializer for event envelopes in the {@link CompactEventCodec} format, using the
+ * schemas of {@link LocalEventSchemaRegistry#shared()}.
+ */
+public class CompactEventSerializer implements Serializer<Object> {
+
+    private final CompactEventCodec codec;
+
+    public CompactEventSerializer() {
+        this(new CompactEventCodec(LocalEventSchemaRegistry.shared()));
+    }
+
+    public CompactEventSerializer(CompactEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof Map<?, ?> event)) {
+            throw new SerializationException("Compact encoding on topic " + topic
+                    + " only supports event maps, got: " + data.getClass().getName());
+        }
+        try {
+            return codec.encode(event);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to encode event for topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+/**
+ * Value encoding of an event topic. Consumers must use the matching deserializer, so a topic is
+ * switched only once all of its consumers can read the new encoding.
+ */
+public enum EventEncoding {
+
+    /**
+     * Spring's JSON serializer, self-describing and readable by any consumer.
+     */
+    JSON,
+
+    /**
+     * {@link CompactEventSerializer}: binary, schema-based, several times smaller and cheaper to
+     * encode and decode than JSON.
+     */
+    COMPACT
+}
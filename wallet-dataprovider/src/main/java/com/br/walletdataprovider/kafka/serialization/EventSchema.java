@@ -0,0 +1,18 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import java.util.List;
+
+/**
+ * Payload layout of one version of an event type. The id travels in every encoded message, so a
+ * schema must never change once published: new fields go in a new version with a new id.
+ */
+public record EventSchema(int id, String eventType, int version, List<Field> fields) {
+
+    public record Field(String name, FieldType type) {
+    }
+
+    public enum FieldType {
+        STRING,
+        DECIMAL
+    }
+}
@@ -0,0 +1,81 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process stand-in for a schema registry: schemas are read from {@code event-schemas.json} on the
+ * classpath. Producers encode with the latest version of each event type and consumers decode with
+ * whatever version the message references, so all versions ever published must stay in the file.
+ */
+public final class LocalEventSchemaRegistry {
+
+    private static final String RESOURCE = "/event-schemas.json";
+
+    private final Map<Integer, EventSchema> byId = new HashMap<>();
+    private final Map<String, EventSchema> latestByType = new HashMap<>();
+
+    public LocalEventSchemaRegistry(List<EventSchema> schemas) {
+        for (EventSchema schema : schemas) {
+            // Presença dos campos codificada num único long
+            if (schema.fields().size() > Long.SIZE) {
+                throw new IllegalArgumentException("Event schema " + schema.id() + " has more than " + Long.SIZE + " fields");
+            }
+            if (byId.putIfAbsent(schema.id(), schema) != null) {
+                throw new IllegalArgumentException("Duplicate event schema id: " + schema.id());
+            }
+            latestByType.merge(schema.eventType(), schema, (current, candidate) -> {
+                if (current.version() == candidate.version()) {
+                    throw new IllegalArgumentException("Duplicate version " + candidate.version()
+                            + " for event schema: " + candidate.eventType());
+                }
+                return candidate.version() > current.version() ? candidate : current;
+            });
+        }
+    }
+
+    /**
+     * Registry loaded once from the classpath; Kafka instantiates serializers reflectively, so they
+     * cannot receive it by injection.
+     */
+    public static LocalEventSchemaRegistry shared() {
+        return Holder.INSTANCE;
+    }
+
+    public EventSchema latest(String eventType) {
+        EventSchema schema = latestByType.get(eventType);
+        if (schema == null) {
+            throw new IllegalArgumentException("No schema registered for event type: " + eventType);
+        }
+        return schema;
+    }
+
+    public EventSchema byId(int id) {
+        EventSchema schema = byId.get(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown event schema id: " + id);
+        }
+        return schema;
+    }
+
+    private static final class Holder {
+        private static final LocalEventSchemaRegistry INSTANCE = load();
+
+        private static LocalEventSchemaRegistry load() {
+            try (InputStream in = LocalEventSchemaRegistry.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Event schema resource not found: " + RESOURCE);
+                }
+                return new LocalEventSchemaRegistry(List.of(new ObjectMapper().readValue(in, EventSchema[].class)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load event schemas", e);
+            }
+        }
+    }
+}
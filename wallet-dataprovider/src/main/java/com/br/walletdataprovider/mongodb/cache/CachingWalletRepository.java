@@ -0,0 +1,202 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.TransactionCursor;
+import com.br.walletcore.domain.TransactionFilter;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.port.repositories.WalletRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-process cache of wallets by userId in front of another {@link WalletRepository}.
+ * <p>
+ * Eviction is Caffeine's W-TinyLFU, bounded by size and time since write. Every post-image
+ * returned by the delegate is written through, and an entry is only replaced by a wallet with a
+ * higher {@code version}, so a slow read can never overwrite a newer write. Entries are
+ * invalidated when the delegate reports a conflict or a conditional update misses, because
+ * the cached copy may be what caused it.
+ * <p>
+ * Every write-through is also broadcast on a {@link WalletCacheInvalidationTransport} with the
+ * new version, and notices from other nodes evict local copies older than that version.
+ * <p>
+ * Wallets are mutable, so callers always get their own copy.
+ */
+@Slf4j
+public class CachingWalletRepository implements WalletRepository {
+
+    public static final String CACHE_NAME = "wallets";
+    private static final String INVALIDATIONS_METRIC = "wallet.cache.invalidations";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final WalletRepository delegate;
+    private final WalletCacheInvalidationTransport invalidationTransport;
+    private final Cache<String, Wallet> cache;
+    private final Counter invalidationsApplied;
+    private final Counter invalidationsIgnored;
+
+    public CachingWalletRepository(WalletRepository delegate,
+                                   WalletCacheInvalidationTransport invalidationTransport,
+                                   MeterRegistry meterRegistry,
+                                   Duration ttl,
+                                   long maxSize) {
+        this.delegate = delegate;
+        this.invalidationTransport = invalidationTransport;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidationsApplied = Counter.builder(INVALIDATIONS_METRIC)
+                .tag("outcome", "evicted")
+                .register(meterRegistry);
+        this.invalidationsIgnored = Counter.builder(INVALIDATIONS_METRIC)
+                .tag("outcome", "ignored")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationTransport.subscribe(this::onInvalidation);
+        log.info("Wallet cache enabled with max-size: {} and ttl: {} on node: {}", maxSize, ttl, nodeId);
+    }
+
+    @Override
+    public Wallet save(Wallet wallet) {
+        try {
+            return writeThrough(delegate.save(wallet));
+        } catch (OptimisticLockingFailureException e) {
+            evict(wallet.getUserId());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Wallet> findByUserId(String userId) {
+        Wallet cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        return delegate.findByUserId(userId).map(this::cacheAndCopy);
+    }
+
+    @Override
+    public void forEachWallet(Consumer<Wallet> action) {
+        delegate.forEachWallet(action);
+    }
+
+    @Override
+    public Optional<Wallet> incrementBalance(String userId, Money amount) {
+        return applied(userId, delegate.incrementBalance(userId, amount));
+    }
+
+    @Override
+    public Optional<Wallet> decrementBalance(String userId, Money amount) {
+        return applied(userId, delegate.decrementBalance(userId, amount));
+    }
+
+    @Override
+    public Optional<WalletTransaction> findLatestTransactionAtOrBefore(String walletId, LocalDateTime timestamp) {
+        return delegate.findLatestTransactionAtOrBefore(walletId, timestamp);
+    }
+
+    @Override
+    public Optional<WalletTransaction> findLatestTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until) {
+        return delegate.findLatestTransactionBetween(walletId, after, until);
+    }
+
+    @Override
+    public void forEachTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until,
+                                          Consumer<WalletTransaction> action) {
+        delegate.forEachTransactionBetween(walletId, after, until, action);
+    }
+
+    @Override
+    public void forEachTransaction(String walletId, Consumer<WalletTransaction> action) {
+        delegate.forEachTransaction(walletId, action);
+    }
+
+    @Override
+    public List<WalletTransaction> findTransactions(String walletId, TransactionFilter filter,
+                                                    TransactionCursor after, int limit) {
+        return delegate.findTransactions(walletId, filter, after, limit);
+    }
+
+    @Override
+    public void saveTransaction(WalletTransaction transaction) {
+        delegate.saveTransaction(transaction);
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Drops the local copy only if it is older than the version written elsewhere; notices sent
+     * by this node are already reflected in the cache.
+     */
+    void onInvalidation(WalletCacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.nodeId()) || invalidation.userId() == null) {
+            return;
+        }
+        // Sem entrada local ou com versão antiga: após o aviso não há cópia desatualizada neste nó
+        Wallet remaining = cache.asMap().computeIfPresent(invalidation.userId(),
+                (userId, cached) -> versionOf(cached) >= invalidation.version() ? cached : null);
+        (remaining == null ? invalidationsApplied : invalidationsIgnored).increment();
+    }
+
+    private Optional<Wallet> applied(String userId, Optional<Wallet> postImage) {
+        if (postImage.isEmpty()) {
+            // Carteira inexistente ou saldo insuficiente: a próxima leitura vai ao banco
+            evict(userId);
+        }
+        return postImage.map(this::writeThrough);
+    }
+
+    private Wallet cacheAndCopy(Wallet wallet) {
+        if (wallet.getUserId() != null) {
+            cache.asMap().merge(wallet.getUserId(), copy(wallet), CachingWalletRepository::newer);
+        }
+        return copy(wallet);
+    }
+
+    private Wallet writeThrough(Wallet wallet) {
+        Wallet result = cacheAndCopy(wallet);
+        if (wallet.getUserId() != null && wallet.getVersion() != null) {
+            invalidationTransport.publish(new WalletCacheInvalidation(nodeId, wallet.getUserId(),
+                    wallet.getId(), wallet.getVersion()));
+        }
+        return result;
+    }
+
+    private static Wallet newer(Wallet current, Wallet candidate) {
+        return versionOf(candidate) >= versionOf(current) ? candidate : current;
+    }
+
+    private static long versionOf(Wallet wallet) {
+        return wallet.getVersion() == null ? -1 : wallet.getVersion();
+    }
+
+    private static Wallet copy(Wallet wallet) {
+        return Wallet.builder()
+                .id(wallet.getId())
+                .userId(wallet.getUserId())
+                .balance(wallet.getBalance())
+                .createdAt(wallet.getCreatedAt())
+                .updatedAt(wallet.getUpdatedAt())
+                .version(wallet.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.port.cache.HistoricalBalanceCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Size-bounded (W-TinyLFU) cache of closing balances. Money is immutable, so values are shared as is.
+ */
+public class CaffeineHistoricalBalanceCache implements HistoricalBalanceCache {
+
+    public static final String CACHE_NAME = "historical-balances";
+
+    private final Cache<Key, Money> cache;
+
+    public CaffeineHistoricalBalanceCache(MeterRegistry meterRegistry, long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<Money> get(String walletId, LocalDate date) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(walletId, date)));
+    }
+
+    @Override
+    public void put(String walletId, LocalDate date, Money balance) {
+        cache.put(new Key(walletId, date), balance);
+    }
+
+    private record Key(String walletId, LocalDate date) {
+    }
+}
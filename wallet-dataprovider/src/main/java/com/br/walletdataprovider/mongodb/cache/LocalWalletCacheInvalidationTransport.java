@@ -0,0 +1,24 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport for single-node deployments and tests: notices are delivered synchronously
+ * to every cache in the same JVM.
+ */
+public class LocalWalletCacheInvalidationTransport implements WalletCacheInvalidationTransport {
+
+    private final List<Consumer<WalletCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(WalletCacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<WalletCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
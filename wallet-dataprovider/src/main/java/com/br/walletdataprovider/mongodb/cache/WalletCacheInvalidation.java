@@ -0,0 +1,7 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+/**
+ * Notice that a node wrote {@code version} of a wallet; other nodes drop cached copies older than it.
+ */
+public record WalletCacheInvalidation(String nodeId, String userId, String walletId, long version) {
+}
@@ -0,0 +1,14 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel between the wallet caches of every node. Delivery is at-most-once per
+ * subscriber; the cache TTL bounds staleness when a notice is lost.
+ */
+public interface WalletCacheInvalidationTransport {
+
+    void publish(WalletCacheInvalidation invalidation);
+
+    void subscribe(Consumer<WalletCacheInvalidation> listener);
+}
@@ -0,0 +1,100 @@
+package com.br.walletdataprovider.mongodb.concurrency;
+
+import com.br.walletcore.concurrent.WalletOperationExecutor;
+import com.br.walletcore.exceptions.ConcurrentWalletUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs the whole operation (re-read, re-apply, re-save) when the wallet document version
+ * changed underneath it. Backoff uses decorrelated jitter: {@code min(max, random(base, previous * 3))},
+ * which spreads competing writers apart instead of making them collide again in lockstep.
+ * <p>
+ * Wraps the execution mode, so in sharded mode the backoff sleeps on the caller thread and
+ * never holds a shard.
+ */
+@Slf4j
+public class OptimisticLockRetryExecutor implements WalletOperationExecutor {
+
+    private final WalletOperationExecutor delegate;
+    private final String operation;
+    private final OptimisticLockRetryPolicy policy;
+
+    private final Counter conflicts;
+    private final Counter exhausted;
+    private final DistributionSummary attempts;
+    private final Timer backoff;
+
+    public OptimisticLockRetryExecutor(WalletOperationExecutor delegate,
+                                       String operation,
+                                       OptimisticLockRetryPolicy policy) {
+        this.delegate = delegate;
+        this.operation = operation;
+        this.policy = policy;
+
+        var registry = policy.getMeterRegistry();
+        this.conflicts = Counter.builder("wallet.optimistic.lock.conflicts")
+                .description("Optimistic lock conflicts detected on wallet updates")
+                .tag("operation", operation)
+                .register(registry);
+        this.exhausted = Counter.builder("wallet.optimistic.lock.exhausted")
+                .description("Wallet updates that gave up after the maximum number of attempts")
+                .tag("operation", operation)
+                .register(registry);
+        this.attempts = DistributionSummary.builder("wallet.optimistic.lock.attempts")
+                .description("Attempts needed per wallet update")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.backoff = Timer.builder("wallet.optimistic.lock.backoff")
+                .description("Time slept between conflicting attempts")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public <T> T execute(String walletKey, Supplier<T> operationSupplier) {
+        long sleepMillis = policy.getBaseDelayMillis();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = delegate.execute(walletKey, operationSupplier);
+                attempts.record(attempt);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+
+                if (attempt >= policy.getMaxAttempts()) {
+                    attempts.record(attempt);
+                    exhausted.increment();
+                    log.warn("Giving up {} for wallet key {} after {} conflicting attempts", operation, walletKey, attempt);
+                    throw new ConcurrentWalletUpdateException("Wallet is being updated concurrently, please retry", e);
+                }
+
+                sleepMillis = Math.min(policy.getMaxDelayMillis(),
+                        ThreadLocalRandom.current().nextLong(policy.getBaseDelayMillis(), sleepMillis * 3 + 1));
+                log.debug("Conflict on {} for wallet key {} (attempt {}), retrying in {} ms",
+                        operation, walletKey, attempt, sleepMillis);
+                sleep(sleepMillis, e);
+            }
+        }
+    }
+
+    private void sleep(long millis, OptimisticLockingFailureException cause) {
+        try {
+            Thread.sleep(millis);
+            backoff.record(Duration.ofMillis(millis));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentWalletUpdateException("Interrupted while waiting to retry wallet update", cause);
+        }
+    }
+}
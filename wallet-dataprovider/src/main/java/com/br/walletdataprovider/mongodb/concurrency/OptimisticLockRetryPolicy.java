@@ -0,0 +1,46 @@
+package com.br.walletdataprovider.mongodb.concurrency;
+
+import com.br.walletcore.concurrent.WalletOperationExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings shared by every {@link OptimisticLockRetryExecutor}; one decorator is created per use case
+ * so conflicts are measured per operation.
+ */
+@Getter
+public class OptimisticLockRetryPolicy {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public OptimisticLockRetryPolicy(MeterRegistry meterRegistry,
+                                     boolean enabled,
+                                     int maxAttempts,
+                                     Duration baseDelay,
+                                     Duration maxDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (baseDelay.toMillis() < 1 || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Retry delays must satisfy 1ms <= base-delay <= max-delay");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+    }
+
+    public WalletOperationExecutor decorate(WalletOperationExecutor delegate, String operation) {
+        if (!enabled) {
+            return delegate;
+        }
+        return new OptimisticLockRetryExecutor(delegate, operation, this);
+    }
+}
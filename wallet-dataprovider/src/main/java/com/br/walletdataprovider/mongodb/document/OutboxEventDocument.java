@@ -5,16 +5,30 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "outbox_events")
+// Índices parciais: só os pendentes (ou só os processados) entram, então não crescem com o histórico
+// _id desempata a ordem do claim (createdAt, _id), servida pelo índice sem sort em memória
+@CompoundIndex(name = "unprocessed_createdAt_id", def = "{'createdAt': 1, '_id': 1}", partialFilter = "{'processed': false}")
+// Eventos que seguram a carteira no claim por aggregate: em lease ou aguardando retentativa
+@CompoundIndex(name = "leased_lockedUntil", def = "{'lockedUntil': 1}",
+        partialFilter = "{'processed': false, 'lockedUntil': {'$exists': true}}")
+@CompoundIndex(name = "retrying_nextAttemptAt", def = "{'nextAttemptAt': 1}",
+        partialFilter = "{'processed': false, 'nextAttemptAt': {'$exists': true}}")
+@CompoundIndex(name = "processed_processedAt", def = "{'processedAt': 1}", partialFilter = "{'processed': true}")
+@CompoundIndex(name = "parked_parkedAt", def = "{'parkedAt': 1}", partialFilter = "{'parked': true}")
+@CompoundIndex(name = "committing_kafkaBatchId", def = "{'kafkaBatchId': 1}",
+        partialFilter = "{'kafkaBatchId': {'$exists': true}}")
 public class OutboxEventDocument {
     @Id
     private String id;
@@ -23,18 +37,41 @@ public class OutboxEventDocument {
     private String aggregateId; // walletId
 
     private String eventType;
-    private String eventData; // JSON serializado
 
-    @Indexed
+    // Documento BSON embutido: o relay o repassa ao Kafka sem parse/re-serialização
+    private Map<String, Object> payload;
+
+    // Alternativa compactada ao payload (wallet.outbox.payload-compression): cabeçalho do codec + JSON comprimido
+    private byte[] compressedPayload;
+
+    // Legado: JSON serializado em string; convertido para payload pela OutboxPayloadMigration
+    private String eventData;
+
     private LocalDateTime createdAt;
 
-    @Indexed
     private boolean processed;
 
     private LocalDateTime processedAt;
     private int retryCount;
     private String errorMessage;
 
+    // Próxima tentativa após falha (backoff exponencial); nulo = imediatamente
+    private LocalDateTime nextAttemptAt;
+
+    // Esgotou as tentativas: enviado ao DLQ e fora do processamento até um replay
+    private boolean parked;
+    private LocalDateTime parkedAt;
+
+    // Lease de processamento: a réplica que reivindicou o evento e até quando
+    private String lockedBy;
+    private LocalDateTime lockedUntil;
+
+    // Modo transacional: lote enviado numa transação Kafka ainda não confirmada aqui, e a posição de um
+    // dos seus registros, usada para descobrir se a transação foi efetivada caso a réplica caia
+    private String kafkaBatchId;
+    private Integer kafkaPartition;
+    private Long kafkaOffset;
+
     @Indexed
     private String correlationId;
 }
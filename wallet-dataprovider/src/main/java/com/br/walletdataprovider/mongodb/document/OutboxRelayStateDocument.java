@@ -0,0 +1,23 @@
+package com.br.walletdataprovider.mongodb.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox_relay_state")
+public class OutboxRelayStateDocument {
+    @Id
+    private String id; // nome do relay
+
+    private String resumeToken; // resume token do change stream em JSON estendido
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.br.walletdataprovider.mongodb.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "wallet_balance_snapshots")
+@CompoundIndex(name = "walletId_date_desc", def = "{'walletId': 1, 'date': -1}")
+public class WalletBalanceSnapshotDocument {
+    @Id
+    private String id; // walletId:date, torna o save idempotente
+
+    private String walletId;
+    private LocalDate date;
+    private long balanceMinor; // unidades mínimas (centavos)
+    private String currency;
+    private LocalDateTime createdAt;
+}
@@ -5,9 +5,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,7 +26,13 @@ public class WalletDocument {
     @Indexed(unique = true)
     private String userId;
 
-    private BigDecimal balance;
+    private Long balanceMinor; // unidades mínimas (centavos), numérico para permitir $inc atômico
+
+    // Saldo decimal anterior às unidades mínimas: só lido, até a WalletMoneyMigration convertê-lo
+    @ReadOnlyProperty
+    @Field("balance")
+    private BigDecimal legacyBalance;
+
     private String currency;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
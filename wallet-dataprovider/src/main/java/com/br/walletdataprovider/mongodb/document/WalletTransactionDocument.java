@@ -5,8 +5,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,17 +19,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "wallet_transactions")
+@CompoundIndex(name = "walletId_timestamp_id_desc", def = "{'walletId': 1, 'timestamp': -1, '_id': -1}")
 public class WalletTransactionDocument {
     @Id
     private String id;
 
-    @Indexed
-    private String walletId;
+    private String walletId; // coberto pelo prefixo do índice composto
 
     private String type;
-    private BigDecimal amount;
+    private Long amountMinor; // unidades mínimas (centavos)
     private String currency;
-    private BigDecimal balanceAfter;
+    private Long balanceAfterMinor; // unidades mínimas (centavos)
     private String balanceAfterCurrency;
     private String description;
 
@@ -34,4 +37,13 @@ public class WalletTransactionDocument {
     private LocalDateTime timestamp;
 
     private String correlationId;
+
+    // Valores decimais anteriores às unidades mínimas: só lidos, até a WalletMoneyMigration convertê-los
+    @ReadOnlyProperty
+    @Field("amount")
+    private BigDecimal legacyAmount;
+
+    @ReadOnlyProperty
+    @Field("balanceAfter")
+    private BigDecimal legacyBalanceAfter;
 }
@@ -0,0 +1,24 @@
+package com.br.walletdataprovider.mongodb.mapper;
+
+import com.br.walletcore.domain.BalanceSnapshot;
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.enums.CurrencyType;
+import com.br.walletdataprovider.mongodb.document.WalletBalanceSnapshotDocument;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface BalanceSnapshotMapper {
+
+    @Mapping(target = "id", expression = "java(snapshot.getWalletId() + ':' + snapshot.getDate())")
+    @Mapping(target = "balanceMinor", expression = "java(snapshot.getBalance().getMinorUnits())")
+    @Mapping(target = "currency", expression = "java(snapshot.getBalance().getCurrency())")
+    WalletBalanceSnapshotDocument toDocument(BalanceSnapshot snapshot);
+
+    @Mapping(target = "balance", expression = "java(mapBalance(document))")
+    BalanceSnapshot toDomain(WalletBalanceSnapshotDocument document);
+
+    default Money mapBalance(WalletBalanceSnapshotDocument document) {
+        return Money.ofMinor(document.getBalanceMinor(), CurrencyType.of(document.getCurrency()));
+    }
+}
@@ -2,27 +2,29 @@ package com.br.walletdataprovider.mongodb.mapper;
 
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.enums.CurrencyType;
 import com.br.walletdataprovider.mongodb.document.WalletDocument;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.math.BigDecimal;
+import static com.br.walletdataprovider.mongodb.migration.LegacyMoney.toMinorUnits;
 
 @Mapper(componentModel = "spring")
 public interface WalletMapper {
 
-    @Mapping(target = "balance", expression = "java(mapBalance(wallet))")
+    @Mapping(target = "balanceMinor", expression = "java(wallet.getBalance().getMinorUnits())")
     @Mapping(target = "currency", expression = "java(wallet.getBalance().getCurrency())")
+    @Mapping(target = "legacyBalance", ignore = true)
     WalletDocument toDocument(Wallet wallet);
 
     @Mapping(target = "balance", expression = "java(mapMoney(document))")
     Wallet toDomain(WalletDocument document);
 
-    default BigDecimal mapBalance(Wallet wallet) {
-        return wallet.getBalance().getAmount();
-    }
-
     default Money mapMoney(WalletDocument document) {
-        return Money.of(document.getBalance(), document.getCurrency());
+        // Carteiras ainda não migradas só têm o saldo decimal
+        long minorUnits = document.getBalanceMinor() != null
+                ? document.getBalanceMinor()
+                : toMinorUnits(document.getLegacyBalance());
+        return Money.ofMinor(minorUnits, CurrencyType.of(document.getCurrency()));
     }
 }
\ No newline at end of file
@@ -2,19 +2,24 @@ package com.br.walletdataprovider.mongodb.mapper;
 
 import com.br.walletcore.domain.Money;
 import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.enums.CurrencyType;
 import com.br.walletcore.enums.TransactionType;
 import com.br.walletdataprovider.mongodb.document.WalletTransactionDocument;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import static com.br.walletdataprovider.mongodb.migration.LegacyMoney.toMinorUnits;
+
 @Mapper(componentModel = "spring")
 public interface WalletTransactionMapper {
 
     @Mapping(target = "type", expression = "java(transaction.getType().name())")
-    @Mapping(target = "amount", expression = "java(transaction.getAmount().getAmount())")
+    @Mapping(target = "amountMinor", expression = "java(transaction.getAmount().getMinorUnits())")
     @Mapping(target = "currency", expression = "java(transaction.getAmount().getCurrency())")
-    @Mapping(target = "balanceAfter", expression = "java(transaction.getBalanceAfter().getAmount())")
+    @Mapping(target = "balanceAfterMinor", expression = "java(transaction.getBalanceAfter().getMinorUnits())")
     @Mapping(target = "balanceAfterCurrency", expression = "java(transaction.getBalanceAfter().getCurrency())")
+    @Mapping(target = "legacyAmount", ignore = true)
+    @Mapping(target = "legacyBalanceAfter", ignore = true)
     WalletTransactionDocument toDocument(WalletTransaction transaction);
 
     @Mapping(target = "type", expression = "java(mapTransactionType(document.getType()))")
@@ -27,10 +32,16 @@ public interface WalletTransactionMapper {
     }
 
     default Money mapAmount(WalletTransactionDocument document) {
-        return Money.of(document.getAmount(), document.getCurrency());
+        long minorUnits = document.getAmountMinor() != null
+                ? document.getAmountMinor()
+                : toMinorUnits(document.getLegacyAmount());
+        return Money.ofMinor(minorUnits, CurrencyType.of(document.getCurrency()));
     }
 
     default Money mapBalanceAfter(WalletTransactionDocument document) {
-        return Money.of(document.getBalanceAfter(), document.getBalanceAfterCurrency());
+        long minorUnits = document.getBalanceAfterMinor() != null
+                ? document.getBalanceAfterMinor()
+                : toMinorUnits(document.getLegacyBalanceAfter());
+        return Money.ofMinor(minorUnits, CurrencyType.of(document.getBalanceAfterCurrency()));
     }
 }
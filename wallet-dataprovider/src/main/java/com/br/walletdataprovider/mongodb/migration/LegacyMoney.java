@@ -0,0 +1,28 @@
+package com.br.walletdataprovider.mongodb.migration;
+
+import com.br.walletcore.domain.Money;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Reads the decimal money fields written before amounts were stored as minor units: a string
+ * (Spring Data's default mapping for BigDecimal) or a Decimal128.
+ */
+public final class LegacyMoney {
+
+    private LegacyMoney() {
+    }
+
+    public static long toMinorUnits(Object legacyValue) {
+        BigDecimal amount = switch (legacyValue) {
+            case Decimal128 decimal -> decimal.bigDecimalValue();
+            case BigDecimal decimal -> decimal;
+            case String text -> new BigDecimal(text);
+            case Number number -> new BigDecimal(number.toString());
+            case null, default -> throw new IllegalArgumentException("Unreadable legacy amount: " + legacyValue);
+        };
+        return amount.setScale(Money.SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
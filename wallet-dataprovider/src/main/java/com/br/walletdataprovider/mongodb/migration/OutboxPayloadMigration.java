@@ -0,0 +1,99 @@
+package com.br.walletdataprovider.mongodb.migration;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.toBsonPayload;
+
+/**
+ * Converts outbox events still holding their payload as a JSON string ({@code eventData}) into the
+ * embedded BSON {@code payload}, in batches, once the application is up. Only events that can still
+ * be published (pending or parked) are migrated; processed ones age out through the retention purge.
+ * Until an event is migrated the publisher keeps parsing its string payload.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "wallet.outbox.payload-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPayloadMigration {
+
+    private static final String ID = "_id";
+    private static final String PROCESSED = "processed";
+    private static final String PAYLOAD = "payload";
+    private static final String EVENT_DATA = "eventData";
+
+    private final MongoTemplate mongoTemplate;
+    // Decimais como BigDecimal para virarem Decimal128, como nos eventos novos
+    private final ObjectReader payloadReader;
+
+    @Value("${wallet.outbox.payload-migration.batch-size}")
+    private int batchSize;
+
+    public OutboxPayloadMigration(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.payloadReader = objectMapper.readerFor(Map.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        long migrated = 0;
+        String lastId = null;
+        List<OutboxEventDocument> legacy;
+        // Paginação por _id: eventos ilegíveis ficam como estão (o publisher os leva ao DLQ) sem serem relidos
+        while (!(legacy = nextBatch(lastId)).isEmpty()) {
+            migrated += migrateBatch(legacy);
+            lastId = legacy.getLast().getId();
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} outbox events from JSON string to BSON payload", migrated);
+        }
+    }
+
+    private List<OutboxEventDocument> nextBatch(String lastId) {
+        Criteria criteria = legacyPayload();
+        if (lastId != null) {
+            criteria = criteria.and(ID).gt(lastId);
+        }
+        return mongoTemplate.find(Query.query(criteria).with(Sort.by(ID)).limit(batchSize), OutboxEventDocument.class);
+    }
+
+    private int migrateBatch(List<OutboxEventDocument> legacy) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEventDocument.class);
+        int converted = 0;
+        for (OutboxEventDocument event : legacy) {
+            try {
+                Map<String, Object> payload = toBsonPayload(payloadReader.readValue(event.getEventData()));
+                bulk.updateOne(Query.query(Criteria.where(ID).is(event.getId()).and(PAYLOAD).exists(false)),
+                        new Update().set(PAYLOAD, payload).unset(EVENT_DATA));
+                converted++;
+            } catch (Exception e) {
+                log.error("Unreadable payload in outbox event: {}, leaving it as a JSON string", event.getId(), e);
+            }
+        }
+        return converted == 0 ? 0 : bulk.execute().getModifiedCount();
+    }
+
+    private static Criteria legacyPayload() {
+        return Criteria.where(PROCESSED).is(false)
+                .and(PAYLOAD).exists(false)
+                .and(EVENT_DATA).exists(true);
+    }
+}
@@ -0,0 +1,140 @@
+package com.br.walletdataprovider.mongodb.migration;
+
+import com.br.walletdataprovider.mongodb.document.WalletDocument;
+import com.br.walletdataprovider.mongodb.document.WalletTransactionDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.br.walletdataprovider.mongodb.migration.LegacyMoney.toMinorUnits;
+
+/**
+ * Converts wallets and transactions still holding decimal amounts ({@code balance}, {@code amount},
+ * {@code balanceAfter}, stored as strings or Decimal128) into the minor-unit longs, in batches, once
+ * the application is up. Until a document is converted the mappers read its decimal fields, and a
+ * balance update converts its wallet on the spot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "wallet.money-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class WalletMoneyMigration {
+
+    private static final String ID = "_id";
+    private static final String BALANCE = "balanceMinor";
+    private static final String LEGACY_BALANCE = "balance";
+    private static final String AMOUNT = "amountMinor";
+    private static final String LEGACY_AMOUNT = "amount";
+    private static final String BALANCE_AFTER = "balanceAfterMinor";
+    private static final String LEGACY_BALANCE_AFTER = "balanceAfter";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${wallet.money-migration.batch-size}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        long wallets = migrateCollection(mongoTemplate.getCollectionName(WalletDocument.class),
+                Criteria.where(BALANCE).exists(false).and(LEGACY_BALANCE).exists(true), walletUpdate());
+        long transactions = migrateCollection(mongoTemplate.getCollectionName(WalletTransactionDocument.class),
+                Criteria.where(AMOUNT).exists(false).and(LEGACY_AMOUNT).exists(true), transactionUpdate());
+
+        if (wallets > 0 || transactions > 0) {
+            log.info("Migrated {} wallets and {} transactions to minor-unit amounts", wallets, transactions);
+        }
+    }
+
+    private long migrateCollection(String collection, Criteria legacy, LegacyUpdate legacyUpdate) {
+        long migrated = 0;
+        Object lastId = null;
+        List<Document> batch;
+        // Paginação por _id: documentos ilegíveis ficam como estão sem serem relidos
+        while (!(batch = nextBatch(collection, legacy, lastId)).isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            int converted = 0;
+            for (Document document : batch) {
+                try {
+                    bulk.updateOne(legacyUpdate.guard(document), legacyUpdate.update(document));
+                    converted++;
+                } catch (RuntimeException e) {
+                    log.error("Unreadable legacy amount in {} document: {}, leaving it as is",
+                            collection, document.get(ID), e);
+                }
+            }
+            if (converted > 0) {
+                migrated += bulk.execute().getModifiedCount();
+            }
+            lastId = batch.getLast().get(ID);
+        }
+        return migrated;
+    }
+
+    private List<Document> nextBatch(String collection, Criteria legacy, Object lastId) {
+        Criteria criteria = lastId == null
+                ? legacy
+                : new Criteria().andOperator(legacy, Criteria.where(ID).gt(lastId));
+        return mongoTemplate.find(Query.query(criteria).with(Sort.by(ID)).limit(batchSize), Document.class, collection);
+    }
+
+    /**
+     * Guarded on the balance read: a deposit or withdrawal converting the same wallet meanwhile wins.
+     */
+    private LegacyUpdate walletUpdate() {
+        return new LegacyUpdate() {
+            @Override
+            public Query guard(Document wallet) {
+                return Query.query(Criteria.where(ID).is(wallet.get(ID))
+                        .and(BALANCE).exists(false)
+                        .and(LEGACY_BALANCE).is(wallet.get(LEGACY_BALANCE)));
+            }
+
+            @Override
+            public Update update(Document wallet) {
+                return new Update()
+                        .set(BALANCE, toMinorUnits(wallet.get(LEGACY_BALANCE)))
+                        .unset(LEGACY_BALANCE);
+            }
+        };
+    }
+
+    /**
+     * Transactions are immutable, so only the absence of the new fields is checked.
+     */
+    private LegacyUpdate transactionUpdate() {
+        return new LegacyUpdate() {
+            @Override
+            public Query guard(Document transaction) {
+                return Query.query(Criteria.where(ID).is(transaction.get(ID)).and(AMOUNT).exists(false));
+            }
+
+            @Override
+            public Update update(Document transaction) {
+                return new Update()
+                        .set(AMOUNT, toMinorUnits(transaction.get(LEGACY_AMOUNT)))
+                        .set(BALANCE_AFTER, toMinorUnits(transaction.get(LEGACY_BALANCE_AFTER)))
+                        .unset(LEGACY_AMOUNT)
+                        .unset(LEGACY_BALANCE_AFTER);
+            }
+        };
+    }
+
+    private interface LegacyUpdate {
+        Query guard(Document document);
+
+        Update update(Document document);
+    }
+}
@@ -0,0 +1,93 @@
+package com.br.walletdataprovider.mongodb.repository;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lease-based claiming so several replicas drain the outbox without publishing the same event twice.
+ */
+public interface OutboxEventMongoRepositoryCustom {
+
+    /**
+     * Leases up to {@code batchSize} unprocessed events created before {@code createdBefore} that are
+     * not leased or whose lease expired, oldest first. Each event is claimed atomically, so
+     * concurrent callers get disjoint batches.
+     */
+    List<OutboxEventDocument> claimBatch(String owner, LocalDateTime createdBefore, int batchSize, Duration lease);
+
+    /**
+     * Like {@link #claimBatch}, but by aggregate: wallets with a pending event that is leased, being
+     * committed or waiting for its next attempt are skipped entirely, and an event is only kept when
+     * every pending event before it in its aggregate was claimed by the same call. Later events of a
+     * wallet therefore never overtake a failed one, and two replicas never hold the same wallet.
+     */
+    List<OutboxEventDocument> claimOrderedBatch(String owner, LocalDateTime createdBefore, int batchSize, Duration lease);
+
+    /**
+     * Settles a claimed batch in a single bulk write: published events are marked processed, failed
+     * ones get their retry count, error and next attempt recorded or are parked, and deferred ones
+     * only get their next attempt. Every lease is released; events whose lease was lost to another
+     * owner are left untouched.
+     *
+     * @return number of events updated
+     */
+    int acknowledge(String owner, List<String> publishedIds, List<FailedEvent> failedEvents, List<DeferredEvent> deferredEvents);
+
+    /**
+     * Records, on each of {@code eventIds} still leased by {@code owner}, the Kafka transaction about to
+     * be committed for them and the position of one of its records. Such events are not claimable
+     * until the batch is acknowledged or resolved.
+     *
+     * @return number of events marked
+     */
+    int markCommitting(String owner, List<String> eventIds, int partition, long offset);
+
+    /**
+     * Batches marked as committing whose lease expired, i.e. whose owner died between the Kafka
+     * commit and the acknowledgment, or before the commit.
+     */
+    List<CommittingBatch> findStaleCommittingBatches(int limit);
+
+    /**
+     * Settles a stale batch: processed when its Kafka transaction was committed, otherwise released
+     * to be claimed again without spending a retry.
+     *
+     * @return number of events updated
+     */
+    long resolveCommittingBatch(String batchId, boolean committed);
+
+    /**
+     * Number of events still to be published, leased or waiting for a retry included, parked ones excluded.
+     * Hinted to the partial index of pending events, so it never scans the processed history.
+     */
+    long countPending();
+
+    /**
+     * Deletes up to {@code limit} events processed before {@code processedBefore}.
+     *
+     * @return number of events deleted
+     */
+    long purgeProcessedBefore(LocalDateTime processedBefore, int limit);
+
+    /**
+     * Outcome of a failed publication: retried at {@code nextAttemptAt}, or parked when {@code park} is set.
+     */
+    record FailedEvent(String eventId, String errorMessage, LocalDateTime nextAttemptAt, boolean park) {
+    }
+
+    /**
+     * Kafka transaction of a batch and the position of one of its records.
+     */
+    record CommittingBatch(String batchId, int partition, long offset) {
+    }
+
+    /**
+     * Event that was not sent because an earlier event of its aggregate failed; it becomes claimable
+     * again at {@code nextAttemptAt} without spending a retry.
+     */
+    record DeferredEvent(String eventId, LocalDateTime nextAttemptAt) {
+    }
+}
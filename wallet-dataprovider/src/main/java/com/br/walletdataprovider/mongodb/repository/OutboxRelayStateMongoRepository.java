@@ -0,0 +1,9 @@
+package com.br.walletdataprovider.mongodb.repository;
+
+import com.br.walletdataprovider.mongodb.document.OutboxRelayStateDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRelayStateMongoRepository extends MongoRepository<OutboxRelayStateDocument, String> {
+}
@@ -0,0 +1,15 @@
+package com.br.walletdataprovider.mongodb.repository;
+
+import com.br.walletdataprovider.mongodb.document.WalletBalanceSnapshotDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface WalletBalanceSnapshotMongoRepository extends MongoRepository<WalletBalanceSnapshotDocument, String> {
+
+    Optional<WalletBalanceSnapshotDocument> findFirstByWalletIdAndDateLessThanEqualOrderByDateDesc(
+            String walletId, LocalDate date);
+}
@@ -1,16 +1,21 @@
 package com.br.walletdataprovider.mongodb.repository;
 
 import com.br.walletdataprovider.mongodb.document.WalletTransactionDocument;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WalletTransactionMongoRepository extends MongoRepository<WalletTransactionDocument, String> {
 
-    List<WalletTransactionDocument> findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(
+    // Índice composto (walletId, timestamp desc): uma única descida na B-tree, sem carregar o histórico
+    Optional<WalletTransactionDocument> findFirstByWalletIdAndTimestampLessThanEqualOrderByTimestampDesc(
             String walletId, LocalDateTime timestamp);
 
+    Optional<WalletTransactionDocument> findFirstByWalletIdAndTimestampBetweenOrderByTimestampDesc(
+            String walletId, Range<LocalDateTime> timestamp);
+
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.br.walletdataprovider.mongodb.repository.impl;
+
+import com.br.walletcore.domain.BalanceSnapshot;
+import com.br.walletcore.port.repositories.BalanceSnapshotRepository;
+import com.br.walletdataprovider.mongodb.mapper.BalanceSnapshotMapper;
+import com.br.walletdataprovider.mongodb.repository.WalletBalanceSnapshotMongoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceSnapshotRepositoryImpl implements BalanceSnapshotRepository {
+
+    private final WalletBalanceSnapshotMongoRepository snapshotMongoRepository;
+    private final BalanceSnapshotMapper snapshotMapper;
+
+    @Override
+    public Optional<BalanceSnapshot> findLatestAtOrBefore(String walletId, LocalDate date) {
+        return snapshotMongoRepository
+                .findFirstByWalletIdAndDateLessThanEqualOrderByDateDesc(walletId, date)
+                .map(snapshotMapper::toDomain);
+    }
+
+    @Override
+    public void save(BalanceSnapshot snapshot) {
+        snapshotMongoRepository.save(snapshotMapper.toDocument(snapshot));
+    }
+}
@@ -0,0 +1,307 @@
+package com.br.walletdataprovider.mongodb.repository.impl;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.br.walletdataprovider.mongodb.repository.OutboxEventMongoRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fragment implementation picked up by Spring Data for {@link OutboxEventMongoRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class OutboxEventMongoRepositoryCustomImpl implements OutboxEventMongoRepositoryCustom {
+
+    private static final String ID = "_id";
+    private static final String AGGREGATE_ID = "aggregateId";
+    private static final String PROCESSED = "processed";
+    private static final String PROCESSED_AT = "processedAt";
+    private static final String CREATED_AT = "createdAt";
+    private static final String LOCKED_BY = "lockedBy";
+    private static final String LOCKED_UNTIL = "lockedUntil";
+    private static final String RETRY_COUNT = "retryCount";
+    private static final String ERROR_MESSAGE = "errorMessage";
+    private static final String NEXT_ATTEMPT_AT = "nextAttemptAt";
+    private static final String PARKED = "parked";
+    private static final String PARKED_AT = "parkedAt";
+    private static final String KAFKA_BATCH_ID = "kafkaBatchId";
+    private static final String KAFKA_PARTITION = "kafkaPartition";
+    private static final String KAFKA_OFFSET = "kafkaOffset";
+
+    // Índice parcial {createdAt, _id} dos pendentes (OutboxEventDocument)
+    private static final String PENDING_INDEX = "unprocessed_createdAt_id";
+
+    // Desempate por _id: todas as réplicas enxergam a mesma ordem entre eventos do mesmo instante
+    private static final Sort CLAIM_ORDER = Sort.by(Sort.Direction.ASC, CREATED_AT, ID);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OutboxEventDocument> claimBatch(String owner, LocalDateTime createdBefore, int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        String claimId = owner + "#" + UUID.randomUUID();
+        LocalDateTime lockedUntil = now.plus(lease);
+        if (!claim(claimId, claimable(createdBefore, now), batchSize, lockedUntil)) {
+            return List.of();
+        }
+        return findClaimed(claimId, lockedUntil);
+    }
+
+    @Override
+    public List<OutboxEventDocument> claimOrderedBatch(String owner, LocalDateTime createdBefore, int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Carteira com evento em voo, em commit ou aguardando retentativa fica de fora inteira, inclusive os eventos fora do lote
+        List<String> blocked = mongoTemplate.findDistinct(Query.query(pendingNotClaimable(now)), AGGREGATE_ID,
+                OutboxEventDocument.class, String.class);
+        var open = new Criteria().andOperator(claimable(createdBefore, now), Criteria.where(AGGREGATE_ID).nin(blocked));
+
+        String claimId = owner + "#" + UUID.randomUUID();
+        LocalDateTime lockedUntil = now.plus(lease);
+        if (!claim(claimId, open, batchSize, lockedUntil)) {
+            return List.of();
+        }
+        List<OutboxEventDocument> claimed = findClaimed(claimId, lockedUntil);
+
+        // Duas réplicas podem pegar a mesma carteira na mesma janela: cada uma só mantém o trecho inicial contínuo da fila dela
+        Set<String> held = heldPrefixes(findPendingUpTo(claimed), claimId);
+        List<String> released = claimed.stream()
+                .map(OutboxEventDocument::getId)
+                .filter(eventId -> !held.contains(eventId))
+                .toList();
+        if (!released.isEmpty()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where(ID).in(released).and(LOCKED_BY).is(claimId)),
+                    new Update().unset(LOCKED_BY).unset(LOCKED_UNTIL), OutboxEventDocument.class);
+        }
+
+        return claimed.stream()
+                .filter(event -> held.contains(event.getId()))
+                .toList();
+    }
+
+    @Override
+    public int acknowledge(String owner, List<String> publishedIds, List<FailedEvent> failedEvents,
+                           List<DeferredEvent> deferredEvents) {
+        if (publishedIds.isEmpty() && failedEvents.isEmpty() && deferredEvents.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEventDocument.class);
+
+        if (!publishedIds.isEmpty()) {
+            // Todos os sucessos compartilham o mesmo update: uma única operação no bulk
+            bulk.updateMulti(Query.query(Criteria.where(ID).in(publishedIds).and(LOCKED_BY).is(owner)),
+                    new Update()
+                            .set(PROCESSED, true)
+                            .set(PROCESSED_AT, LocalDateTime.now())
+                            .unset(LOCKED_BY)
+                            .unset(LOCKED_UNTIL)
+                            .unset(KAFKA_BATCH_ID)
+                            .unset(KAFKA_PARTITION)
+                            .unset(KAFKA_OFFSET));
+        }
+
+        for (FailedEvent failed : failedEvents) {
+            var update = new Update()
+                    .inc(RETRY_COUNT, 1)
+                    .set(ERROR_MESSAGE, failed.errorMessage())
+                    .unset(LOCKED_BY)
+                    .unset(LOCKED_UNTIL)
+                    .unset(KAFKA_BATCH_ID)
+                    .unset(KAFKA_PARTITION)
+                    .unset(KAFKA_OFFSET);
+            if (failed.park()) {
+                update.set(PARKED, true).set(PARKED_AT, LocalDateTime.now()).unset(NEXT_ATTEMPT_AT);
+            } else {
+                update.set(NEXT_ATTEMPT_AT, failed.nextAttemptAt());
+            }
+            bulk.updateOne(Query.query(Criteria.where(ID).is(failed.eventId()).and(LOCKED_BY).is(owner)), update);
+        }
+
+        for (DeferredEvent deferred : deferredEvents) {
+            bulk.updateOne(Query.query(Criteria.where(ID).is(deferred.eventId()).and(LOCKED_BY).is(owner)),
+                    new Update()
+                            .set(NEXT_ATTEMPT_AT, deferred.nextAttemptAt())
+                            .unset(LOCKED_BY)
+                            .unset(LOCKED_UNTIL));
+        }
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public int markCommitting(String owner, List<String> eventIds, int partition, long offset) {
+        return (int) mongoTemplate.updateMulti(Query.query(Criteria.where(ID).in(eventIds).and(LOCKED_BY).is(owner).and(PROCESSED).is(false)),
+                new Update()
+                        .set(KAFKA_BATCH_ID, owner)
+                        .set(KAFKA_PARTITION, partition)
+                        .set(KAFKA_OFFSET, offset),
+                OutboxEventDocument.class).getModifiedCount();
+    }
+
+    @Override
+    public List<CommittingBatch> findStaleCommittingBatches(int limit) {
+        var stale = Query.query(staleCommitting()).limit(limit);
+        stale.fields().include(KAFKA_BATCH_ID, KAFKA_PARTITION, KAFKA_OFFSET);
+
+        // Todos os eventos do lote carregam a mesma posição; basta um por lote
+        return mongoTemplate.find(stale, OutboxEventDocument.class).stream()
+                .map(event -> new CommittingBatch(event.getKafkaBatchId(), event.getKafkaPartition(), event.getKafkaOffset()))
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public long resolveCommittingBatch(String batchId, boolean committed) {
+        var update = new Update()
+                .unset(LOCKED_BY)
+                .unset(LOCKED_UNTIL)
+                .unset(KAFKA_BATCH_ID)
+                .unset(KAFKA_PARTITION)
+                .unset(KAFKA_OFFSET);
+        if (committed) {
+            update.set(PROCESSED, true).set(PROCESSED_AT, LocalDateTime.now());
+        }
+        return mongoTemplate.updateMulti(Query.query(new Criteria().andOperator(
+                        Criteria.where(KAFKA_BATCH_ID).is(batchId), staleCommitting())),
+                update, OutboxEventDocument.class).getModifiedCount();
+    }
+
+    @Override
+    public long countPending() {
+        // Sem predicado em createdAt o planner não escolhe o índice parcial sozinho e varreria a coleção inteira
+        return mongoTemplate.count(Query.query(Criteria.where(PROCESSED).is(false).and(PARKED).ne(true))
+                        .withHint(PENDING_INDEX),
+                OutboxEventDocument.class);
+    }
+
+    @Override
+    public long purgeProcessedBefore(LocalDateTime processedBefore, int limit) {
+        var expired = Query.query(Criteria.where(PROCESSED).is(true).and(PROCESSED_AT).lt(processedBefore))
+                .limit(limit);
+        expired.fields().include(ID);
+
+        List<Object> ids = mongoTemplate.find(expired, OutboxEventDocument.class).stream()
+                .map(event -> (Object) event.getId())
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return mongoTemplate.remove(Query.query(Criteria.where(ID).in(ids)), OutboxEventDocument.class)
+                .getDeletedCount();
+    }
+
+    private static Criteria claimable(LocalDateTime createdBefore, LocalDateTime now) {
+        return Criteria.where(PROCESSED).is(false)
+                .and(PARKED).ne(true)
+                .and(KAFKA_BATCH_ID).exists(false)
+                .and(CREATED_AT).lt(createdBefore)
+                .andOperator(
+                        new Criteria().orOperator(
+                                Criteria.where(LOCKED_UNTIL).is(null),
+                                Criteria.where(LOCKED_UNTIL).lt(now)),
+                        new Criteria().orOperator(
+                                Criteria.where(NEXT_ATTEMPT_AT).is(null),
+                                Criteria.where(NEXT_ATTEMPT_AT).lte(now)));
+    }
+
+    /**
+     * Leases up to {@code batchSize} events matching {@code claimable}, oldest first.
+     *
+     * @return whether any event was leased
+     */
+    private boolean claim(String claimId, Criteria claimable, int batchSize, LocalDateTime lockedUntil) {
+        var candidates = Query.query(claimable)
+                .with(CLAIM_ORDER)
+                .limit(batchSize);
+        candidates.fields().include(ID);
+
+        List<Object> ids = mongoTemplate.find(candidates, OutboxEventDocument.class).stream()
+                .map(event -> (Object) event.getId())
+                .toList();
+        if (ids.isEmpty()) {
+            return false;
+        }
+
+        // O filtro de lease é reavaliado por documento no update: quem perder a corrida simplesmente não o recebe
+        var claim = Query.query(new Criteria().andOperator(Criteria.where(ID).in(ids), claimable));
+        var update = new Update()
+                .set(LOCKED_BY, claimId)
+                .set(LOCKED_UNTIL, lockedUntil);
+        return mongoTemplate.updateMulti(claim, update, OutboxEventDocument.class).getModifiedCount() > 0;
+    }
+
+    private List<OutboxEventDocument> findClaimed(String claimId, LocalDateTime lockedUntil) {
+        // lockedUntil exato leva a consulta ao índice leased_lockedUntil em vez de varrer a coleção
+        return mongoTemplate.find(Query.query(Criteria.where(PROCESSED).is(false)
+                        .and(LOCKED_UNTIL).is(lockedUntil)
+                        .and(LOCKED_BY).is(claimId)).with(CLAIM_ORDER),
+                OutboxEventDocument.class);
+    }
+
+    /**
+     * Pending events of the claimed aggregates up to the newest claimed one, in claim order.
+     */
+    private List<OutboxEventDocument> findPendingUpTo(List<OutboxEventDocument> claimed) {
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        var pending = Query.query(Criteria.where(PROCESSED).is(false)
+                        .and(PARKED).ne(true)
+                        .and(AGGREGATE_ID).in(claimed.stream().map(OutboxEventDocument::getAggregateId).distinct().toList())
+                        .and(CREATED_AT).lte(claimed.getLast().getCreatedAt()))
+                .with(CLAIM_ORDER);
+        pending.fields().include(ID, AGGREGATE_ID, LOCKED_BY);
+        return mongoTemplate.find(pending, OutboxEventDocument.class);
+    }
+
+    /**
+     * Ids of the events held by {@code owner} with no event of another owner, or unclaimed, before
+     * them in their aggregate. {@code pending} must be in claim order.
+     */
+    static Set<String> heldPrefixes(List<OutboxEventDocument> pending, String owner) {
+        Set<String> interrupted = new HashSet<>();
+        Set<String> held = new HashSet<>();
+        for (OutboxEventDocument event : pending) {
+            if (interrupted.contains(event.getAggregateId())) {
+                continue;
+            }
+            if (owner.equals(event.getLockedBy())) {
+                held.add(event.getId());
+            } else {
+                interrupted.add(event.getAggregateId());
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Pending events that hold their aggregate: leased, being committed, or waiting for their next attempt.
+     */
+    private static Criteria pendingNotClaimable(LocalDateTime now) {
+        // processed em cada ramo: cada um usa o seu índice parcial (leased, retrying, committing) e o $or vira união de índices
+        return Criteria.where(PARKED).ne(true)
+                .orOperator(
+                        Criteria.where(PROCESSED).is(false).and(LOCKED_UNTIL).gte(now),
+                        Criteria.where(PROCESSED).is(false).and(NEXT_ATTEMPT_AT).gt(now),
+                        Criteria.where(KAFKA_BATCH_ID).exists(true).and(PROCESSED).is(false));
+    }
+
+    private static Criteria staleCommitting() {
+        return Criteria.where(KAFKA_BATCH_ID).exists(true)
+                .and(PROCESSED).is(false)
+                .and(LOCKED_UNTIL).lt(LocalDateTime.now());
+    }
+}
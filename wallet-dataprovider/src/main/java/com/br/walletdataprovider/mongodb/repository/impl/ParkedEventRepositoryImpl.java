@@ -0,0 +1,61 @@
+package com.br.walletdataprovider.mongodb.repository.impl;
+
+import com.br.walletcore.port.repositories.ParkedEventRepository;
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ParkedEventRepositoryImpl implements ParkedEventRepository {
+
+    private static final String ID = "_id";
+    private static final String PARKED = "parked";
+    private static final String PARKED_AT = "parkedAt";
+    private static final String RETRY_COUNT = "retryCount";
+    private static final String NEXT_ATTEMPT_AT = "nextAttemptAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long countParked() {
+        return mongoTemplate.count(Query.query(Criteria.where(PARKED).is(true)), OutboxEventDocument.class);
+    }
+
+    @Override
+    public int scheduleReplay(int limit, LocalDateTime firstAttemptAt, Duration spacing) {
+        var parked = Query.query(Criteria.where(PARKED).is(true))
+                .with(Sort.by(Sort.Direction.ASC, PARKED_AT))
+                .limit(limit);
+        parked.fields().include(ID);
+
+        List<String> ids = mongoTemplate.find(parked, OutboxEventDocument.class).stream()
+                .map(OutboxEventDocument::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEventDocument.class);
+        for (int i = 0; i < ids.size(); i++) {
+            // Guarda parked=true: um replay concorrente não reagenda o mesmo evento duas vezes
+            bulk.updateOne(Query.query(Criteria.where(ID).is(ids.get(i)).and(PARKED).is(true)),
+                    new Update()
+                            .set(PARKED, false)
+                            .unset(PARKED_AT)
+                            .set(RETRY_COUNT, 0)
+                            .set(NEXT_ATTEMPT_AT, firstAttemptAt.plus(spacing.multipliedBy(i))));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+}
@@ -1,29 +1,60 @@
 package com.br.walletdataprovider.mongodb.repository.impl;
 
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.TransactionCursor;
+import com.br.walletcore.domain.TransactionFilter;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 import com.br.walletcore.port.repositories.WalletRepository;
+import com.br.walletdataprovider.mongodb.document.WalletDocument;
+import com.br.walletdataprovider.mongodb.document.WalletTransactionDocument;
 import com.br.walletdataprovider.mongodb.mapper.WalletMapper;
 import com.br.walletdataprovider.mongodb.mapper.WalletTransactionMapper;
 import com.br.walletdataprovider.mongodb.repository.WalletMongoRepository;
 import com.br.walletdataprovider.mongodb.repository.WalletTransactionMongoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.br.walletdataprovider.mongodb.migration.LegacyMoney.toMinorUnits;
 
 @Repository
 @RequiredArgsConstructor
 @Slf4j
 public class WalletRepositoryImpl implements WalletRepository {
 
+    private static final String USER_ID = "userId";
+    private static final String CURRENCY = "currency";
+    private static final String BALANCE = "balanceMinor";
+    private static final String LEGACY_BALANCE = "balance";
+    private static final String VERSION = "version";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String WALLET_ID = "walletId";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String TYPE = "type";
+    private static final String ID = "_id";
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final WalletMongoRepository walletMongoRepository;
     private final WalletTransactionMongoRepository transactionMongoRepository;
     private final WalletMapper walletMapper;
     private final WalletTransactionMapper transactionMapper;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public Wallet save(Wallet wallet) {
@@ -39,10 +70,97 @@ public class WalletRepositoryImpl implements WalletRepository {
     }
 
     @Override
-    public List<WalletTransaction> findTransactionsByWalletIdUntilTimestamp(String walletId, LocalDateTime timestamp) {
+    public void forEachWallet(Consumer<Wallet> action) {
+        try (Stream<WalletDocument> documents = mongoTemplate.stream(new Query(), WalletDocument.class)) {
+            documents.map(walletMapper::toDomain).forEach(action);
+        }
+    }
+
+    @Override
+    public Optional<Wallet> incrementBalance(String userId, Money amount) {
+        // Sem o campo em unidades mínimas o $inc o criaria a partir de zero
+        var query = Query.query(Criteria.where(USER_ID).is(userId)
+                .and(CURRENCY).is(amount.getCurrency())
+                .and(BALANCE).exists(true));
+
+        return applyBalanceDelta(userId, query, amount.getMinorUnits());
+    }
+
+    @Override
+    public Optional<Wallet> decrementBalance(String userId, Money amount) {
+        var query = Query.query(Criteria.where(USER_ID).is(userId)
+                .and(CURRENCY).is(amount.getCurrency())
+                .and(BALANCE).gte(amount.getMinorUnits()));
+
+        return applyBalanceDelta(userId, query, -amount.getMinorUnits());
+    }
+
+    @Override
+    public Optional<WalletTransaction> findLatestTransactionAtOrBefore(String walletId, LocalDateTime timestamp) {
         return transactionMongoRepository
-                .findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(walletId, timestamp)
-                .stream()
+                .findFirstByWalletIdAndTimestampLessThanEqualOrderByTimestampDesc(walletId, timestamp)
+                .map(transactionMapper::toDomain);
+    }
+
+    @Override
+    public Optional<WalletTransaction> findLatestTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until) {
+        return transactionMongoRepository
+                .findFirstByWalletIdAndTimestampBetweenOrderByTimestampDesc(walletId,
+                        Range.leftOpen(after, until))
+                .map(transactionMapper::toDomain);
+    }
+
+    @Override
+    public void forEachTransactionBetween(String walletId, LocalDateTime after, LocalDateTime until,
+                                          Consumer<WalletTransaction> action) {
+        var query = Query.query(Criteria.where(WALLET_ID).is(walletId)
+                        .and(TIMESTAMP).gt(after).lte(until))
+                .with(Sort.by(Sort.Direction.ASC, TIMESTAMP));
+
+        try (Stream<WalletTransactionDocument> documents = mongoTemplate.stream(query, WalletTransactionDocument.class)) {
+            documents.map(transactionMapper::toDomain).forEach(action);
+        }
+    }
+
+    @Override
+    public void forEachTransaction(String walletId, Consumer<WalletTransaction> action) {
+        // O cursor só busca o próximo lote quando o consumidor termina o atual: memória constante
+        var query = Query.query(Criteria.where(WALLET_ID).is(walletId))
+                .with(Sort.by(Sort.Direction.ASC, TIMESTAMP, ID))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+
+        try (Stream<WalletTransactionDocument> documents = mongoTemplate.stream(query, WalletTransactionDocument.class)) {
+            documents.map(transactionMapper::toDomain).forEach(action);
+        }
+    }
+
+    @Override
+    public List<WalletTransaction> findTransactions(String walletId, TransactionFilter filter,
+                                                    TransactionCursor after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where(WALLET_ID).is(walletId));
+
+        if (filter.getType() != null) {
+            criteria.add(Criteria.where(TYPE).is(filter.getType().name()));
+        }
+        if (filter.getFrom() != null) {
+            criteria.add(Criteria.where(TIMESTAMP).gte(filter.getFrom()));
+        }
+        if (filter.getUntil() != null) {
+            criteria.add(Criteria.where(TIMESTAMP).lte(filter.getUntil()));
+        }
+        if (after != null) {
+            // Keyset: (timestamp, _id) < (cursor.timestamp, cursor.id), desempate pelo id
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where(TIMESTAMP).lt(after.getTimestamp()),
+                    Criteria.where(TIMESTAMP).is(after.getTimestamp()).and(ID).lt(after.getId())));
+        }
+
+        var query = Query.query(new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Direction.DESC, TIMESTAMP, ID))
+                .limit(limit);
+
+        return mongoTemplate.find(query, WalletTransactionDocument.class).stream()
                 .map(transactionMapper::toDomain)
                 .toList();
     }
@@ -52,4 +170,51 @@ public class WalletRepositoryImpl implements WalletRepository {
         var document = transactionMapper.toDocument(transaction);
         transactionMongoRepository.save(document);
     }
-}
\ No newline at end of file
+
+    /**
+     * Single round trip findAndModify: the guard lives in the query and the new balance is
+     * computed by the server, so concurrent writers never lose updates. The version is bumped
+     * to keep optimistic locking on {@link #save(Wallet)} consistent with these writes.
+     * <p>
+     * The query only matches wallets whose balance is in minor units. A wallet still holding the
+     * legacy decimal balance is converted first and the update is tried once more.
+     */
+    private Optional<Wallet> applyBalanceDelta(String userId, Query query, long delta) {
+        var update = new Update()
+                .inc(BALANCE, delta)
+                .inc(VERSION, 1)
+                .set(UPDATED_AT, LocalDateTime.now());
+        var options = FindAndModifyOptions.options().returnNew(true);
+
+        var document = mongoTemplate.findAndModify(query, update, options, WalletDocument.class);
+        if (document == null && convertLegacyBalance(userId)) {
+            document = mongoTemplate.findAndModify(query, update, options, WalletDocument.class);
+        }
+        return Optional.ofNullable(document).map(walletMapper::toDomain);
+    }
+
+    /**
+     * Moves the wallet's legacy decimal balance (string or Decimal128) to minor units, guarded on
+     * the value read so a concurrent conversion is never overwritten.
+     *
+     * @return whether the wallet had a legacy balance
+     */
+    private boolean convertLegacyBalance(String userId) {
+        String collection = mongoTemplate.getCollectionName(WalletDocument.class);
+        Document legacy = mongoTemplate.findOne(Query.query(Criteria.where(USER_ID).is(userId)
+                .and(BALANCE).exists(false)
+                .and(LEGACY_BALANCE).exists(true)), Document.class, collection);
+        if (legacy == null) {
+            return false;
+        }
+
+        Object balance = legacy.get(LEGACY_BALANCE);
+        mongoTemplate.updateFirst(Query.query(Criteria.where(ID).is(legacy.get(ID))
+                        .and(BALANCE).exists(false)
+                        .and(LEGACY_BALANCE).is(balance)),
+                new Update().set(BALANCE, toMinorUnits(balance)).unset(LEGACY_BALANCE),
+                collection);
+        log.info("Converted legacy balance of wallet: {} to minor units", legacy.get(ID));
+        return true;
+    }
+}
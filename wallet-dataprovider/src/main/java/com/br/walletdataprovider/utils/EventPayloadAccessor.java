@@ -1,6 +1,10 @@
 package com.br.walletdataprovider.utils;
 
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +27,50 @@ public final class EventPayloadAccessor {
         return payload;
     }
 
+    /**
+     * Copy of the payload ready to be embedded in a Mongo document: decimals become Decimal128, which
+     * Spring Data would otherwise store as strings inside an untyped map.
+     */
+    public static Map<String, Object> toBsonPayload(Map<?, ?> payload) {
+        Map<String, Object> bson = new LinkedHashMap<>(payload.size());
+        payload.forEach((key, value) -> bson.put(String.valueOf(key), convertValue(value, true)));
+        return bson;
+    }
+
+    /**
+     * Inverse of {@link #toBsonPayload}: Decimal128 values back to BigDecimal so the JSON serializer
+     * writes them as plain numbers.
+     */
+    public static Map<String, Object> fromBsonPayload(Map<String, Object> payload) {
+        Map<String, Object> plain = new LinkedHashMap<>(payload.size());
+        payload.forEach((key, value) -> plain.put(key, convertValue(value, false)));
+        return plain;
+    }
+
+    private static Object convertValue(Object value, boolean toBson) {
+        if (toBson && value instanceof BigDecimal decimal) {
+            return new Decimal128(decimal);
+        }
+        if (!toBson && value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Map<?, ?> nested) {
+            return toBson ? toBsonPayload(nested) : fromBsonPayload((Map<String, Object>) nested);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(item -> convertValue(item, toBson)).toList();
+        }
+        return value;
+    }
+
+    /**
+     * Wallet the event belongs to: {@code walletId}, or {@code sourceWalletId} for transfers.
+     */
+    public static Optional<String> extractWalletId(Object payload) {
+        return extractStringValue(payload, "walletId")
+                .or(() -> extractStringValue(payload, "sourceWalletId"));
+    }
+
     public static Optional<String> extractStringValue(Object payload, String key) {
         if (payload instanceof Map<?, ?>) {
             Map<String, Object> map = (Map<String, Object>) payload;
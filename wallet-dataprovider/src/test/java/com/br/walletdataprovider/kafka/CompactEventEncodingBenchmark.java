@@ -0,0 +1,145 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.kafka.serialization.CompactEventDeserializer;
+import com.br.walletdataprovider.kafka.serialization.CompactEventSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * Message size and encode/decode cost per event of the JSON path (Spring's JsonSerializer and
+ * JsonDeserializer, configured as in application.yml, type headers included) against the compact
+ * binary encoding, for the envelopes published to wallet-events.
+ * <p>
+ * Sizes are the record value only, before Kafka's batch compression. Not a test; run it from the
+ * IDE or with:
+ * <pre>
+ * mvn -q -pl wallet-dataprovider -am test-compile dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt
+ * java -cp "wallet-dataprovider/target/test-classes:wallet-dataprovider/target/classes:$(cat /tmp/cp.txt)" \
+ *      com.br.walletdataprovider.kafka.CompactEventEncodingBenchmark
+ * </pre>
+ */
+public class CompactEventEncodingBenchmark {
+
+    private static final String TOPIC = "wallet-events";
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 500_000;
+
+    public static void main(String[] args) {
+        var jsonSerializer = new JsonSerializer<Object>();
+        var jsonDeserializer = new JsonDeserializer<Object>();
+        // Headers reaproveitados a cada decodificação: o deserializer não deve removê-los
+        jsonDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+        var compactSerializer = new CompactEventSerializer();
+        var compactDeserializer = new CompactEventDeserializer();
+
+        System.out.printf("%-18s %6s %8s %11s %11s %11s %11s%n", "event", "json", "compact",
+                "json enc", "json dec", "compact enc", "compact dec");
+
+        for (Map.Entry<String, Map<String, Object>> sample : samples().entrySet()) {
+            Map<String, Object> event = sample.getValue();
+            var headers = new RecordHeaders();
+            byte[] json = jsonSerializer.serialize(TOPIC, headers, event);
+            byte[] compact = compactSerializer.serialize(TOPIC, event);
+            checkRoundTrip(event, compactDeserializer.deserialize(TOPIC, compact));
+
+            System.out.printf("%-18s %6d %8d %8.0f ns %8.0f ns %8.0f ns %8.0f ns%n",
+                    sample.getKey(), json.length, compact.length,
+                    nanosPerOp(() -> jsonSerializer.serialize(TOPIC, new RecordHeaders(), event).length),
+                    nanosPerOp(() -> jsonDeserializer.deserialize(TOPIC, headers, json) == null ? 0 : 1),
+                    nanosPerOp(() -> compactSerializer.serialize(TOPIC, event).length),
+                    nanosPerOp(() -> compactDeserializer.deserialize(TOPIC, compact).size()));
+        }
+    }
+
+    private static double nanosPerOp(IntOperation operation) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        // Evita que o JIT descarte o laço
+        return sink == 42 ? -1 : nanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void checkRoundTrip(Map<String, Object> event, Map<String, Object> decoded) {
+        var payload = (Map<String, Object>) event.get("payload");
+        var decodedPayload = (Map<String, Object>) decoded.get("payload");
+        ToIntFunction<String> mismatch = key -> payload.get(key) instanceof BigDecimal decimal
+                ? decimal.compareTo((BigDecimal) decodedPayload.get(key))
+                : payload.get(key).toString().equals(decodedPayload.get(key)) ? 0 : 1;
+        if (!event.get("eventId").equals(decoded.get("eventId"))
+                || payload.size() != decodedPayload.size()
+                || payload.keySet().stream().anyMatch(key -> mismatch.applyAsInt(key) != 0)) {
+            throw new IllegalStateException("Compact round trip changed the event: " + decoded);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntOperation {
+        int run();
+    }
+
+    private static Map<String, Map<String, Object>> samples() {
+        String walletId = UUID.randomUUID().toString();
+        String timestamp = LocalDateTime.now().toString();
+        Map<String, Map<String, Object>> samples = new LinkedHashMap<>();
+
+        samples.put("WALLET_CREATED", envelope("WALLET_CREATED", Map.of(
+                "walletId", walletId,
+                "userId", "user-4711",
+                "currency", "BRL",
+                "timestamp", timestamp)));
+
+        Map<String, Object> balanceChange = Map.of(
+                "walletId", walletId,
+                "userId", "user-4711",
+                "amount", new BigDecimal("150.00"),
+                "currency", "BRL",
+                "previousBalance", new BigDecimal("1020.35"),
+                "newBalance", new BigDecimal("1170.35"),
+                "timestamp", timestamp,
+                "transactionId", UUID.randomUUID().toString());
+        samples.put("FUNDS_DEPOSITED", envelope("FUNDS_DEPOSITED", balanceChange));
+        samples.put("FUNDS_WITHDRAWN", envelope("FUNDS_WITHDRAWN", balanceChange));
+
+        samples.put("FUNDS_TRANSFERRED", envelope("FUNDS_TRANSFERRED", Map.ofEntries(
+                Map.entry("correlationId", UUID.randomUUID().toString()),
+                Map.entry("sourceWalletId", walletId),
+                Map.entry("targetWalletId", UUID.randomUUID().toString()),
+                Map.entry("sourceUserId", "user-4711"),
+                Map.entry("targetUserId", "user-4712"),
+                Map.entry("amount", new BigDecimal("75.50")),
+                Map.entry("currency", "BRL"),
+                Map.entry("sourceBalanceBefore", new BigDecimal("1170.35")),
+                Map.entry("sourceBalanceAfter", new BigDecimal("1094.85")),
+                Map.entry("targetBalanceBefore", new BigDecimal("310.00")),
+                Map.entry("targetBalanceAfter", new BigDecimal("385.50")),
+                Map.entry("timestamp", timestamp))));
+        return samples;
+    }
+
+    /**
+     * Same envelope as {@link KafkaWalletEventPublisher}.
+     */
+    private static Map<String, Object> envelope(String eventType, Map<String, Object> payload) {
+        return Map.of(
+                "eventType", eventType,
+                "payload", payload,
+                "timestamp", LocalDateTime.now().toString(),
+                "eventId", UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,117 @@
+package com.br.walletdataprovider.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.toBsonPayload;
+
+/**
+ * Bytes stored per outbox event and CPU spent per event for each {@link PayloadCompression} codec,
+ * by event type. Payloads mirror what the use cases publish (timestamp already stripped).
+ * <p>
+ * Sizes are for a single payload compressed on its own, which is how the outbox stores them.
+ * Not a test; run it from the IDE or with:
+ * <pre>
+ * mvn -q -pl wallet-dataprovider -am test-compile dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt
+ * java -cp "wallet-dataprovider/target/test-classes:wallet-dataprovider/target/classes:$(cat /tmp/cp.txt)" \
+ *      com.br.walletdataprovider.kafka.OutboxPayloadCompressionBenchmark
+ * </pre>
+ */
+public class OutboxPayloadCompressionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        var objectMapper = new ObjectMapper();
+
+        System.out.printf("%-18s %6s %6s %6s %6s %11s %11s %11s %11s%n", "event", "json", "bson",
+                "lz4", "zstd", "lz4 comp", "lz4 decomp", "zstd comp", "zstd decomp");
+
+        for (Map.Entry<String, Map<String, Object>> sample : samples().entrySet()) {
+            byte[] json = objectMapper.writeValueAsBytes(sample.getValue());
+            int bson = new RawBsonDocument(new Document(toBsonPayload(sample.getValue())), new DocumentCodec())
+                    .getByteBuffer().remaining();
+            byte[] lz4 = PayloadCompression.LZ4.compress(json);
+            byte[] zstd = PayloadCompression.ZSTD.compress(json);
+
+            System.out.printf("%-18s %6d %6d %6d %6d %8.0f ns %8.0f ns %8.0f ns %8.0f ns%n",
+                    sample.getKey(), json.length, bson, lz4.length, zstd.length,
+                    compressNanos(PayloadCompression.LZ4, json), decompressNanos(lz4),
+                    compressNanos(PayloadCompression.ZSTD, json), decompressNanos(zstd));
+        }
+        System.out.println("lz4/zstd sizes include the 5-byte header; a payload that does not shrink is stored as none");
+    }
+
+    private static double compressNanos(PayloadCompression codec, byte[] json) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += codec.compress(json).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.compress(json).length;
+        }
+        return elapsedPerOp(start, sink);
+    }
+
+    private static double decompressNanos(byte[] framed) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += PayloadCompression.decompress(framed).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += PayloadCompression.decompress(framed).length;
+        }
+        return elapsedPerOp(start, sink);
+    }
+
+    private static double elapsedPerOp(long start, long sink) {
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        // Evita que o JIT descarte o laço
+        return sink == 42 ? -1 : nanos;
+    }
+
+    private static Map<String, Map<String, Object>> samples() {
+        String walletId = UUID.randomUUID().toString();
+        Map<String, Map<String, Object>> samples = new LinkedHashMap<>();
+
+        samples.put("WALLET_CREATED", Map.of(
+                "walletId", walletId,
+                "userId", "user-4711",
+                "currency", "BRL"));
+
+        Map<String, Object> balanceChange = Map.of(
+                "walletId", walletId,
+                "userId", "user-4711",
+                "amount", new BigDecimal("150.00"),
+                "currency", "BRL",
+                "previousBalance", new BigDecimal("1020.35"),
+                "newBalance", new BigDecimal("1170.35"),
+                "transactionId", UUID.randomUUID().toString());
+        samples.put("FUNDS_DEPOSITED", balanceChange);
+        samples.put("FUNDS_WITHDRAWN", balanceChange);
+
+        samples.put("FUNDS_TRANSFERRED", Map.ofEntries(
+                Map.entry("correlationId", UUID.randomUUID().toString()),
+                Map.entry("sourceWalletId", walletId),
+                Map.entry("targetWalletId", UUID.randomUUID().toString()),
+                Map.entry("sourceUserId", "user-4711"),
+                Map.entry("targetUserId", "user-4712"),
+                Map.entry("amount", new BigDecimal("75.50")),
+                Map.entry("currency", "BRL"),
+                Map.entry("sourceBalanceBefore", new BigDecimal("1170.35")),
+                Map.entry("sourceBalanceAfter", new BigDecimal("1094.85")),
+                Map.entry("targetBalanceBefore", new BigDecimal("310.00")),
+                Map.entry("targetBalanceAfter", new BigDecimal("385.50"))));
+        return samples;
+    }
+}
@@ -0,0 +1,143 @@
+package com.br.walletdataprovider.kafka;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static com.br.walletdataprovider.utils.EventPayloadAccessor.toBsonPayload;
+
+/**
+ * Throughput of the outbox drain: one blocking send plus one save per event (previous loop)
+ * versus {@link OutboxBatchPublisher} with a single bulk acknowledgment, and versus
+ * {@link OrderedOutboxBatchPublisher}, which keeps one chain per aggregate in flight.
+ * <p>
+ * Broker acks and Mongo writes are simulated with fixed latencies so the comparison isolates the
+ * round-trip pattern. Not a test; run it from the IDE or with:
+ * <pre>
+ * mvn -q -pl wallet-dataprovider -am test-compile dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt
+ * java -cp "wallet-dataprovider/target/test-classes:wallet-dataprovider/target/classes:$(cat /tmp/cp.txt)" \
+ *      com.br.walletdataprovider.kafka.OutboxPublishBenchmark
+ * </pre>
+ */
+public class OutboxPublishBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int BATCHES = 20;
+    private static final int WARMUP_BATCHES = 5;
+    private static final long KAFKA_ACK_MICROS = 2_000;
+    private static final long MONGO_WRITE_MICROS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        var kafkaTemplate = new SimulatedKafkaTemplate(KAFKA_ACK_MICROS);
+        var objectMapper = new ObjectMapper();
+        var batchPublisher = new OutboxBatchPublisher(kafkaTemplate, objectMapper, "wallet-outbox",
+                "wallet-outbox-dlq", Duration.ofSeconds(10));
+        var orderedPublisher = new OrderedOutboxBatchPublisher(kafkaTemplate, objectMapper, "wallet-outbox",
+                "wallet-outbox-dlq", Duration.ofSeconds(10), Runtime.getRuntime().availableProcessors());
+        List<OutboxEventDocument> batch = events();
+
+        for (int i = 0; i < WARMUP_BATCHES; i++) {
+            sequential(kafkaTemplate, objectMapper, batch);
+            pipelined(batchPublisher, batch);
+            pipelined(orderedPublisher, batch);
+        }
+
+        long sequentialNanos = 0;
+        long pipelinedNanos = 0;
+        long orderedNanos = 0;
+        for (int i = 0; i < BATCHES; i++) {
+            long start = System.nanoTime();
+            sequential(kafkaTemplate, objectMapper, batch);
+            sequentialNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pipelined(batchPublisher, batch);
+            pipelinedNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pipelined(orderedPublisher, batch);
+            orderedNanos += System.nanoTime() - start;
+        }
+
+        report("sequential send().get() + save per event", sequentialNanos);
+        report("pipelined sends + one bulkWrite", pipelinedNanos);
+        report("per-aggregate chains + one bulkWrite", orderedNanos);
+        System.out.printf("speedup: %.1fx pipelined, %.1fx per-aggregate%n",
+                (double) sequentialNanos / pipelinedNanos, (double) sequentialNanos / orderedNanos);
+        orderedPublisher.close();
+    }
+
+    private static void sequential(KafkaTemplate<String, Object> kafkaTemplate, ObjectMapper objectMapper,
+                                   List<OutboxEventDocument> batch) throws Exception {
+        for (OutboxEventDocument event : batch) {
+            Object eventData = objectMapper.readValue(event.getEventData(), Map.class);
+            kafkaTemplate.send("wallet-outbox", event.getAggregateId(), Map.of("eventId", event.getId(), "payload", eventData)).get();
+            simulateMongoWrite();
+        }
+    }
+
+    private static void pipelined(OutboxBatchPublisher batchPublisher, List<OutboxEventDocument> batch) {
+        OutboxBatchPublisher.BatchResult result = batchPublisher.publish(batch);
+        if (result.published().size() != batch.size()) {
+            throw new IllegalStateException("Unexpected failures: " + result.failed());
+        }
+        simulateMongoWrite();
+    }
+
+    private static void report(String label, long nanos) {
+        double events = (double) BATCH_SIZE * BATCHES;
+        System.out.printf("%-42s %8.1f ms/batch %10.0f events/s%n",
+                label, nanos / 1e6 / BATCHES, events / (nanos / 1e9));
+    }
+
+    private static void simulateMongoWrite() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(MONGO_WRITE_MICROS));
+    }
+
+    private static List<OutboxEventDocument> events() {
+        return IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> OutboxEventDocument.builder()
+                        .id(UUID.randomUUID().toString())
+                        .aggregateId("wallet-" + (i % 10))
+                        .eventType("FUNDS_DEPOSITED")
+                        .eventData("{\"walletId\":\"wallet-" + (i % 10) + "\",\"amount\":10.00,\"currency\":\"BRL\"}")
+                        .payload(toBsonPayload(Map.of("walletId", "wallet-" + (i % 10),
+                                "amount", new BigDecimal("10.00"), "currency", "BRL")))
+                        .createdAt(LocalDateTime.now())
+                        .correlationId(UUID.randomUUID().toString())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Completes every send after a fixed ack latency, concurrently, like a broker with in-flight requests.
+     */
+    private static final class SimulatedKafkaTemplate extends KafkaTemplate<String, Object> {
+
+        private final Executor ackExecutor;
+
+        private SimulatedKafkaTemplate(long ackMicros) {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+            this.ackExecutor = CompletableFuture.delayedExecutor(ackMicros, TimeUnit.MICROSECONDS);
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            return CompletableFuture.supplyAsync(() -> null, ackExecutor);
+        }
+    }
+}
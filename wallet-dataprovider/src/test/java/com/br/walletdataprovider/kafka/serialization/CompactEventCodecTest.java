@@ -0,0 +1,165 @@
+package com.br.walletdataprovider.kafka.serialization;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do codec binário compacto dos eventos (event-schemas.json)
+ */
+@DisplayName("Compact event codec")
+class CompactEventCodecTest {
+
+    private final CompactEventCodec codec = new CompactEventCodec(LocalEventSchemaRegistry.shared());
+
+    @Test
+    @DisplayName("Should round trip WALLET_CREATED")
+    void shouldRoundTripWalletCreated() {
+        assertRoundTrip(event("WALLET_CREATED", Map.of(
+                "walletId", "wallet-1",
+                "userId", "user-1",
+                "currency", "BRL",
+                "timestamp", "2026-10-17T10:15:30")));
+    }
+
+    @Test
+    @DisplayName("Should round trip FUNDS_DEPOSITED")
+    void shouldRoundTripFundsDeposited() {
+        assertRoundTrip(event("FUNDS_DEPOSITED", balanceChange("100.50", "0.00", "100.50")));
+    }
+
+    @Test
+    @DisplayName("Should round trip FUNDS_WITHDRAWN")
+    void shouldRoundTripFundsWithdrawn() {
+        assertRoundTrip(event("FUNDS_WITHDRAWN", balanceChange("30.25", "100.50", "70.25")));
+    }
+
+    @Test
+    @DisplayName("Should round trip FUNDS_TRANSFERRED")
+    void shouldRoundTripFundsTransferred() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("correlationId", "corr-1");
+        payload.put("sourceWalletId", "wallet-1");
+        payload.put("targetWalletId", "wallet-2");
+        payload.put("sourceUserId", "user-1");
+        payload.put("targetUserId", "user-2");
+        payload.put("amount", new BigDecimal("25.00"));
+        payload.put("currency", "BRL");
+        payload.put("sourceBalanceBefore", new BigDecimal("70.25"));
+        payload.put("sourceBalanceAfter", new BigDecimal("45.25"));
+        payload.put("targetBalanceBefore", new BigDecimal("0.00"));
+        payload.put("targetBalanceAfter", new BigDecimal("25.00"));
+        payload.put("timestamp", "2026-10-17T10:15:30");
+
+        assertRoundTrip(event("FUNDS_TRANSFERRED", payload));
+    }
+
+    @Test
+    @DisplayName("Should keep decimals whose unscaled value does not fit in a long")
+    void shouldRoundTripDecimalBeyondLong() {
+        Map<String, Object> payload = balanceChange("123456789012345678901234567890.12", "0.00", "-9223372036854775809");
+
+        assertRoundTrip(event("FUNDS_DEPOSITED", payload));
+    }
+
+    @Test
+    @DisplayName("Should keep decimals with a negative scale")
+    void shouldRoundTripNegativeScale() {
+        Map<String, Object> payload = balanceChange("1E+3", "0", "1E+3");
+
+        Map<String, Object> decoded = assertRoundTrip(event("FUNDS_DEPOSITED", payload));
+        assertThat(((BigDecimal) payload(decoded).get("amount")).scale()).isEqualTo(-3);
+    }
+
+    @Test
+    @DisplayName("Should leave missing optional fields out of the decoded payload")
+    void shouldOmitMissingFields() {
+        Map<String, Object> payload = balanceChange("10.00", "0.00", "10.00");
+        payload.remove("transactionId");
+        payload.put("previousBalance", null);
+
+        Map<String, Object> decoded = codec.decode(codec.encode(event("FUNDS_DEPOSITED", payload)));
+
+        assertThat(payload(decoded)).doesNotContainKeys("transactionId", "previousBalance");
+        assertThat(payload(decoded).get("amount")).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject payload keys that are not in the schema")
+    void shouldRejectUnknownPayloadKey() {
+        Map<String, Object> payload = balanceChange("10.00", "0.00", "10.00");
+        payload.put("fee", new BigDecimal("0.10"));
+
+        assertThatThrownBy(() -> codec.encode(event("FUNDS_DEPOSITED", payload)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fee");
+    }
+
+    @Test
+    @DisplayName("Should reject envelope keys that are not in the schema")
+    void shouldRejectUnknownEnvelopeKey() {
+        Map<String, Object> event = event("FUNDS_DEPOSITED", balanceChange("10.00", "0.00", "10.00"));
+        event.put("source", "legacy");
+
+        assertThatThrownBy(() -> codec.encode(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("source");
+    }
+
+    @Test
+    @DisplayName("Should reject truncated input at every length")
+    void shouldRejectTruncatedInput() {
+        byte[] encoded = codec.encode(event("FUNDS_DEPOSITED",
+                balanceChange("123456789012345678901234567890.12", "0.00", "10.00")));
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> codec.decode(truncated))
+                    .as("truncated to %d of %d bytes", length, encoded.length)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private Map<String, Object> assertRoundTrip(Map<String, Object> event) {
+        Map<String, Object> decoded = codec.decode(codec.encode(event));
+        assertThat(decoded).isEqualTo(event);
+        return decoded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> payload(Map<String, Object> event) {
+        return (Map<String, Object>) event.get("payload");
+    }
+
+    private static Map<String, Object> event(String eventType, Map<String, Object> payload) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventId", "event-1");
+        event.put("eventType", eventType);
+        event.put("aggregateId", "wallet-1");
+        event.put("payload", payload);
+        event.put("createdAt", "2026-10-17T10:15:30");
+        event.put("correlationId", "corr-1");
+        event.put("timestamp", "2026-10-17T10:15:30");
+        return event;
+    }
+
+    private static Map<String, Object> balanceChange(String amount, String previousBalance, String newBalance) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("walletId", "wallet-1");
+        payload.put("userId", "user-1");
+        payload.put("amount", new BigDecimal(amount));
+        payload.put("currency", "BRL");
+        payload.put("previousBalance", new BigDecimal(previousBalance));
+        payload.put("newBalance", new BigDecimal(newBalance));
+        payload.put("timestamp", "2026-10-17T10:15:30");
+        payload.put("transactionId", "tx-1");
+        return payload;
+    }
+}
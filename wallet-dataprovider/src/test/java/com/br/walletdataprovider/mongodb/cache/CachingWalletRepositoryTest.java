@@ -0,0 +1,152 @@
+package com.br.walletdataprovider.mongodb.cache;
+
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.Wallet;
+import com.br.walletcore.port.repositories.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do cache local de carteiras e da invalidação por versão entre nós
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching wallet repository")
+class CachingWalletRepositoryTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String WALLET_ID = "wallet-1";
+
+    @Mock
+    private WalletRepository delegate;
+
+    private LocalWalletCacheInvalidationTransport transport;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingWalletRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LocalWalletCacheInvalidationTransport();
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingWalletRepository(delegate, transport, meterRegistry, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @DisplayName("Should ignore the notice this node broadcast for its own write")
+    void shouldIgnoreOwnNotice() {
+        when(delegate.save(any(Wallet.class))).thenReturn(wallet(4));
+
+        repository.save(wallet(3));
+
+        assertThat(repository.findByUserId(USER_ID)).get().extracting(Wallet::getVersion).isEqualTo(4L);
+        verify(delegate, times(0)).findByUserId(USER_ID);
+        assertThat(counter("evicted")).isZero();
+        assertThat(counter("ignored")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a cached wallet newer than the version in a remote notice")
+    void shouldKeepNewerEntryOnOlderNotice() {
+        when(delegate.findByUserId(USER_ID)).thenReturn(Optional.of(wallet(5)));
+        repository.findByUserId(USER_ID);
+
+        transport.publish(new WalletCacheInvalidation("other-node", USER_ID, WALLET_ID, 3));
+
+        assertThat(repository.findByUserId(USER_ID)).get().extracting(Wallet::getVersion).isEqualTo(5L);
+        verify(delegate, times(1)).findByUserId(USER_ID);
+        assertThat(counter("ignored")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict a cached wallet older than the version in a remote notice")
+    void shouldEvictOlderEntryOnNewerNotice() {
+        when(delegate.findByUserId(USER_ID))
+                .thenReturn(Optional.of(wallet(3)))
+                .thenReturn(Optional.of(wallet(5)));
+        repository.findByUserId(USER_ID);
+
+        transport.publish(new WalletCacheInvalidation("other-node", USER_ID, WALLET_ID, 5));
+
+        assertThat(repository.findByUserId(USER_ID)).get().extracting(Wallet::getVersion).isEqualTo(5L);
+        verify(delegate, times(2)).findByUserId(USER_ID);
+        assertThat(counter("evicted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the wallet when the delegate reports an optimistic-lock conflict")
+    void shouldEvictOnConflict() {
+        when(delegate.findByUserId(USER_ID)).thenReturn(Optional.of(wallet(3)));
+        repository.findByUserId(USER_ID);
+        when(delegate.save(any(Wallet.class))).thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        assertThatThrownBy(() -> repository.save(wallet(3))).isInstanceOf(OptimisticLockingFailureException.class);
+
+        repository.findByUserId(USER_ID);
+        verify(delegate, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should evict the wallet when a conditional update misses")
+    void shouldEvictOnMissedConditionalUpdate() {
+        when(delegate.findByUserId(USER_ID)).thenReturn(Optional.of(wallet(3)));
+        repository.findByUserId(USER_ID);
+        when(delegate.decrementBalance(USER_ID, money("50.00"))).thenReturn(Optional.empty());
+
+        assertThat(repository.decrementBalance(USER_ID, money("50.00"))).isEmpty();
+
+        repository.findByUserId(USER_ID);
+        verify(delegate, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should write the post-image of a conditional update through and broadcast its version")
+    void shouldWriteThroughAndBroadcast() {
+        List<WalletCacheInvalidation> received = new ArrayList<>();
+        transport.subscribe(received::add);
+        when(delegate.incrementBalance(USER_ID, money("10.00"))).thenReturn(Optional.of(wallet(7)));
+
+        repository.incrementBalance(USER_ID, money("10.00"));
+
+        assertThat(repository.findByUserId(USER_ID)).get().extracting(Wallet::getVersion).isEqualTo(7L);
+        verify(delegate, times(0)).findByUserId(USER_ID);
+        assertThat(received).singleElement().satisfies(notice -> {
+            assertThat(notice.userId()).isEqualTo(USER_ID);
+            assertThat(notice.version()).isEqualTo(7L);
+        });
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("wallet.cache.invalidations").tag("outcome", outcome).counter().count();
+    }
+
+    private static Wallet wallet(long version) {
+        return Wallet.builder()
+                .id(WALLET_ID)
+                .userId(USER_ID)
+                .balance(money("100.00"))
+                .version(version)
+                .build();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount), "BRL");
+    }
+}
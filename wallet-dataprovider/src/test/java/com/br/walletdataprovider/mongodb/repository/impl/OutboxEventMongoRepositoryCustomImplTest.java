@@ -0,0 +1,121 @@
+package com.br.walletdataprovider.mongodb.repository.impl;
+
+import com.br.walletdataprovider.mongodb.document.OutboxEventDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da reivindicação por carteira do outbox (modo per-aggregate)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox repository - ordered claim")
+class OutboxEventMongoRepositoryCustomImplTest {
+
+    private static final String OWNER = "replica-1#claim";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private OutboxEventMongoRepositoryCustomImpl repository;
+
+    @Test
+    @DisplayName("Should skip a wallet whose failed event awaits its retry, including its events outside the batch")
+    void shouldSkipWalletWithFailedEventOutsideTheBatch() {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("aggregateId"), eq(OutboxEventDocument.class), eq(String.class)))
+                .thenReturn(List.of("wallet-1"));
+        when(mongoTemplate.find(any(Query.class), eq(OutboxEventDocument.class))).thenReturn(List.of());
+
+        List<OutboxEventDocument> claimed = repository.claimOrderedBatch("replica-1", LocalDateTime.now(), 2, Duration.ofSeconds(30));
+
+        assertThat(claimed).isEmpty();
+
+        ArgumentCaptor<Query> blocked = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findDistinct(blocked.capture(), eq("aggregateId"), eq(OutboxEventDocument.class), eq(String.class));
+        assertThat(blocked.getValue().getQueryObject().toString())
+                .contains("nextAttemptAt", "lockedUntil", "kafkaBatchId");
+
+        ArgumentCaptor<Query> candidates = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(candidates.capture(), eq(OutboxEventDocument.class));
+        assertThat(candidates.getValue().getQueryObject().toString())
+                .contains("aggregateId=Document{{$nin=[wallet-1]}}");
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(OutboxEventDocument.class));
+    }
+
+    @Test
+    @DisplayName("Should keep only the events after which nothing of the wallet is pending elsewhere")
+    void shouldKeepOnlyHeldPrefixOfEachWallet() {
+        List<OutboxEventDocument> pending = List.of(
+                event("w1-1", "wallet-1", null),
+                event("w2-1", "wallet-2", OWNER),
+                event("w1-2", "wallet-1", OWNER),
+                event("w2-2", "wallet-2", OWNER),
+                event("w1-3", "wallet-1", OWNER));
+
+        assertThat(OutboxEventMongoRepositoryCustomImpl.heldPrefixes(pending, OWNER))
+                .containsExactlyInAnyOrder("w2-1", "w2-2");
+    }
+
+    @Test
+    @DisplayName("Should release the wallet's tail when another replica holds its head")
+    void shouldReleaseTailHeldByAnotherReplica() {
+        List<OutboxEventDocument> pending = List.of(
+                event("w1-1", "wallet-1", "replica-2#claim"),
+                event("w1-2", "wallet-1", OWNER));
+
+        assertThat(OutboxEventMongoRepositoryCustomImpl.heldPrefixes(pending, OWNER)).isEmpty();
+        assertThat(OutboxEventMongoRepositoryCustomImpl.heldPrefixes(pending, "replica-2#claim"))
+                .containsExactly("w1-1");
+    }
+
+    @Test
+    @DisplayName("Should stop at the first gap of the wallet's queue")
+    void shouldStopAtFirstGap() {
+        List<OutboxEventDocument> pending = List.of(
+                event("w1-1", "wallet-1", OWNER),
+                event("w1-2", "wallet-1", "replica-2#claim"),
+                event("w1-3", "wallet-1", OWNER));
+
+        assertThat(OutboxEventMongoRepositoryCustomImpl.heldPrefixes(pending, OWNER))
+                .containsExactly("w1-1");
+    }
+
+    @Test
+    @DisplayName("Should count the backlog through the partial index of pending events")
+    void shouldCountPendingThroughPartialIndex() {
+        when(mongoTemplate.count(any(Query.class), eq(OutboxEventDocument.class))).thenReturn(7L);
+
+        assertThat(repository.countPending()).isEqualTo(7L);
+
+        ArgumentCaptor<Query> count = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(count.capture(), eq(OutboxEventDocument.class));
+        assertThat(count.getValue().getHint()).isEqualTo("unprocessed_createdAt_id");
+    }
+
+    private static OutboxEventDocument event(String id, String aggregateId, String lockedBy) {
+        return OutboxEventDocument.builder()
+                .id(id)
+                .aggregateId(aggregateId)
+                .lockedBy(lockedBy)
+                .build();
+    }
+}
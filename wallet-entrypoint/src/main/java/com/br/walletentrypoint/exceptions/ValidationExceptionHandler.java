@@ -1,5 +1,6 @@
 package com.br.walletentrypoint.exceptions;
 
+import com.br.walletcore.exceptions.ConcurrentWalletUpdateException;
 import com.br.walletcore.exceptions.response.ErrorDetailsMessage;
 import com.br.walletcore.exceptions.response.ErrorMessage;
 import jakarta.validation.ConstraintViolation;
@@ -143,6 +144,22 @@ public class ValidationExceptionHandler {
         return ResponseEntity.badRequest().body(errorMessage);
     }
 
+    @ExceptionHandler(ConcurrentWalletUpdateException.class)
+    public ResponseEntity<ErrorMessage> handleConcurrentWalletUpdate(ConcurrentWalletUpdateException ex) {
+        log.warn("Concurrent wallet update: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = new ErrorMessage(
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Update",
+                ex.getMessage(),
+                LocalDateTime.now().format(TIMESTAMP_FORMATTER),
+                Collections.singletonList(new ErrorDetailsMessage("wallet", "Wallet was modified concurrently"))
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorMessage);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorMessage> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime error occurred: ", ex);
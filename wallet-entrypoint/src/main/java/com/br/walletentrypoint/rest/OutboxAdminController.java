@@ -0,0 +1,44 @@
+package com.br.walletentrypoint.rest;
+
+import com.br.walletentrypoint.rest.facade.OutboxAdminFacade;
+import com.br.walletentrypoint.rest.response.OutboxReplayResponse;
+import com.br.walletentrypoint.rest.response.ParkedEventsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operação do outbox: eventos "parked" (tentativas esgotadas, já copiados para o DLQ) e replay controlado.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/outbox")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+
+    private final OutboxAdminFacade outboxAdminFacade;
+
+    @GetMapping("/parked")
+    public ResponseEntity<ParkedEventsResponse> getParkedEvents() {
+        return ResponseEntity.ok(outboxAdminFacade.getParkedEvents());
+    }
+
+    /**
+     * Devolve até 'limit' eventos ao outbox, liberados aos poucos a 'rate' eventos por segundo.
+     */
+    @PostMapping("/parked/replay")
+    public ResponseEntity<OutboxReplayResponse> replayParkedEvents(@RequestParam(defaultValue = "1000") int limit,
+                                                                   @RequestParam(defaultValue = "50") int rate) {
+        log.info("Replaying up to {} parked outbox events at {}/s", limit, rate);
+
+        OutboxReplayResponse response = outboxAdminFacade.replayParkedEvents(limit, rate);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -1,19 +1,25 @@
 package com.br.walletentrypoint.rest;
 
 import com.br.walletcore.domain.Money;
+import com.br.walletcore.enums.TransactionType;
 import com.br.walletentrypoint.rest.facade.WalletFacade;
 import com.br.walletentrypoint.rest.request.CreateWalletRequest;
 import com.br.walletentrypoint.rest.request.DepositRequest;
 import com.br.walletentrypoint.rest.request.TransferRequest;
 import com.br.walletentrypoint.rest.request.WithdrawRequest;
 import com.br.walletentrypoint.rest.response.BalanceResponse;
+import com.br.walletentrypoint.rest.response.TransactionPageResponse;
 import com.br.walletentrypoint.rest.response.TransactionResponse;
 import com.br.walletentrypoint.rest.response.WalletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,8 +28,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @Slf4j
@@ -32,6 +41,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WalletController {
 
+    // Saldo de um dia já fechado nunca muda; private porque é dado do usuário e não pode ficar em cache compartilhado
+    private static final CacheControl CLOSED_DAY_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
     private final WalletFacade walletFacade;
 
     @PostMapping
@@ -75,6 +87,42 @@ public class WalletController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Histórico paginado por cursor (keyset): use o nextCursor da resposta para buscar a próxima página.
+     */
+    @GetMapping("/{userId}/transactions")
+    public ResponseEntity<TransactionPageResponse> getTransactions(
+            @PathVariable String userId,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Listing transactions for user: {} type: {} from: {} to: {}", userId, type, from, to);
+
+        TransactionPageResponse response = walletFacade.getTransactions(userId, type, from, to, cursor, limit);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Exportação completa do histórico em NDJSON (uma transação por linha), com memória constante.
+     */
+    @GetMapping(value = "/{userId}/transactions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable String userId) {
+        log.info("Exporting transactions for user: {}", userId);
+
+        StreamingResponseBody body = walletFacade.exportTransactions(userId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions-" + userId + ".ndjson")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PostMapping("/transfer")
     public ResponseEntity<List<TransactionResponse>> transfer(@Valid @RequestBody TransferRequest request) {
         log.info("Processing transfer from {} to {}", request.fromUserId(), request.toUserId());
@@ -97,12 +145,36 @@ public class WalletController {
     @GetMapping("/{userId}/balance/historical")
     public ResponseEntity<List<BalanceResponse>> getHistoricalBalance(
             @PathVariable String userId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        log.info("Getting historical balance for user: {} at date: {}", userId, date);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
+        log.info("Getting historical balance for user: {} at date: {} time: {}", userId, date, time);
+
+        // Sem 'time' o saldo é o do fim do dia
+        BalanceResponse response = time == null
+                ? walletFacade.getHistoricalBalance(userId, date)
+                : walletFacade.getHistoricalBalance(userId, date.atTime(time));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (walletFacade.isClosedDay(date)) {
+            builder.cacheControl(CLOSED_DAY_CACHE_CONTROL);
+        }
+        return builder.body(List.of(response));
+    }
+
+    /**
+     * Série diária de saldos em uma única chamada (uma passada ordenada sobre as transações).
+     */
+    @GetMapping(value = "/{userId}/balance/historical", params = {"from", "to"})
+    public ResponseEntity<List<BalanceResponse>> getHistoricalBalanceSeries(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String step) {
+        log.info("Getting historical balance series for user: {} from: {} to: {} step: {}", userId, from, to, step);
 
-        BalanceResponse response = walletFacade.getHistoricalBalance(userId, date);
+        List<BalanceResponse> response = walletFacade.getHistoricalBalanceSeries(userId, from, to, step);
 
-        return ResponseEntity.ok(List.of(response));
+        return ResponseEntity.ok(response);
     }
 
 }
\ No newline at end of file
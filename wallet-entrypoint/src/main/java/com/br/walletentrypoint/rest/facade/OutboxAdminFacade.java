@@ -0,0 +1,24 @@
+package com.br.walletentrypoint.rest.facade;
+
+import com.br.walletcore.domain.ReplayResult;
+import com.br.walletcore.usecase.ReplayParkedEventsUseCase;
+import com.br.walletentrypoint.rest.response.OutboxReplayResponse;
+import com.br.walletentrypoint.rest.response.ParkedEventsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxAdminFacade {
+
+    private final ReplayParkedEventsUseCase replayParkedEventsUseCase;
+
+    public ParkedEventsResponse getParkedEvents() {
+        return new ParkedEventsResponse(replayParkedEventsUseCase.countParked());
+    }
+
+    public OutboxReplayResponse replayParkedEvents(final int limit, final int ratePerSecond) {
+        ReplayResult result = replayParkedEventsUseCase.execute(limit, ratePerSecond);
+        return new OutboxReplayResponse(result.getScheduled(), result.getCompletesAt(), result.getRemainingParked());
+    }
+}
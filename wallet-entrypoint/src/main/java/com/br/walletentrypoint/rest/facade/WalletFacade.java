@@ -1,21 +1,35 @@
 package com.br.walletentrypoint.rest.facade;
 
 import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.TransactionFilter;
+import com.br.walletcore.enums.TransactionType;
 import com.br.walletcore.usecase.CreateWalletUseCase;
 import com.br.walletcore.usecase.DepositUseCase;
+import com.br.walletcore.usecase.ExportTransactionsUseCase;
+import com.br.walletcore.usecase.GetBalanceSeriesUseCase;
 import com.br.walletcore.usecase.GetBalanceUseCase;
 import com.br.walletcore.usecase.GetHistoricalBalance;
 import com.br.walletcore.usecase.GetWalletUseCase;
+import com.br.walletcore.usecase.ListTransactionsUseCase;
 import com.br.walletcore.usecase.TransferUseCase;
 import com.br.walletcore.usecase.WithdrawUseCase;
 import com.br.walletentrypoint.rest.mapper.WalletResponseMapper;
 import com.br.walletentrypoint.rest.response.BalanceResponse;
+import com.br.walletentrypoint.rest.response.TransactionPageResponse;
 import com.br.walletentrypoint.rest.response.TransactionResponse;
 import com.br.walletentrypoint.rest.response.WalletResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 @Component
@@ -25,12 +39,16 @@ public class WalletFacade {
     private final CreateWalletUseCase createWalletUseCase;
     private final GetBalanceUseCase getBalanceUseCase;
     private final GetHistoricalBalance getHistoricalBalance;
+    private final GetBalanceSeriesUseCase getBalanceSeriesUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
     private final TransferUseCase transferUseCase;
     private final GetWalletUseCase getWalletUseCase;
+    private final ListTransactionsUseCase listTransactionsUseCase;
+    private final ExportTransactionsUseCase exportTransactionsUseCase;
 
     private final WalletResponseMapper responseMapper;
+    private final ObjectMapper objectMapper;
 
     public WalletResponse createWallet(final String userId, final String currency) {
         return responseMapper.toWalletResponse(createWalletUseCase.execute(userId, currency));
@@ -46,6 +64,20 @@ public class WalletFacade {
         return responseMapper.toBalanceResponse(userId, money);
     }
 
+    public BalanceResponse getHistoricalBalance(final String userId, final LocalDateTime timestamp) {
+        Money money = getHistoricalBalance.execute(userId, timestamp);
+        return responseMapper.toBalanceResponse(userId, money);
+    }
+
+    public boolean isClosedDay(final LocalDate date) {
+        return getHistoricalBalance.isClosed(date);
+    }
+
+    public List<BalanceResponse> getHistoricalBalanceSeries(final String userId, final LocalDate from,
+                                                            final LocalDate to, final String step) {
+        return responseMapper.toDailyBalanceResponseList(userId, getBalanceSeriesUseCase.execute(userId, from, to, step));
+    }
+
     public TransactionResponse deposit(final String userId, final Money amount) {
         return responseMapper.toTransactionResponse(depositUseCase.execute(userId, amount));
     }
@@ -58,6 +90,44 @@ public class WalletFacade {
         return responseMapper.toTransactionResponseList(transferUseCase.execute(fromUserId, toUserId, amount));
     }
 
+    public TransactionPageResponse getTransactions(final String userId, final TransactionType type,
+                                                   final LocalDate from, final LocalDate to,
+                                                   final String cursor, final Integer limit) {
+        var filter = TransactionFilter.builder()
+                .type(type)
+                .from(from == null ? null : from.atStartOfDay())
+                .until(to == null ? null : to.atTime(LocalTime.MAX))
+                .build();
+        return responseMapper.toTransactionPageResponse(listTransactionsUseCase.execute(userId, filter, cursor, limit));
+    }
+
+    /**
+     * NDJSON export: each transaction is mapped and written to the response as it comes off the
+     * Mongo cursor. Writes block when the client reads slowly, which in turn holds the cursor back.
+     */
+    public StreamingResponseBody exportTransactions(final String userId) {
+        ExportTransactionsUseCase.TransactionExport export = exportTransactionsUseCase.execute(userId);
+        // Sem o separador padrão (" ") entre valores raiz: cada linha começa direto no objeto
+        var writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                export.writeTo(transaction -> {
+                    try {
+                        writer.writeValue(generator, responseMapper.toTransactionResponse(transaction));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
     public WalletResponse getWallet(final String userId) {
         return responseMapper.toWalletResponse(getWalletUseCase.execute(userId));
     }
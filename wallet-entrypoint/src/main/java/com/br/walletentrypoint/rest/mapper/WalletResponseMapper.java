@@ -1,9 +1,12 @@
 package com.br.walletentrypoint.rest.mapper;
 
+import com.br.walletcore.domain.DailyBalance;
 import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.TransactionPage;
 import com.br.walletcore.domain.Wallet;
 import com.br.walletcore.domain.WalletTransaction;
 import com.br.walletentrypoint.rest.response.BalanceResponse;
+import com.br.walletentrypoint.rest.response.TransactionPageResponse;
 import com.br.walletentrypoint.rest.response.TransactionResponse;
 import com.br.walletentrypoint.rest.response.WalletResponse;
 import org.mapstruct.Mapper;
@@ -26,9 +29,25 @@ public interface WalletResponseMapper {
 
     List<TransactionResponse> toTransactionResponseList(List<WalletTransaction> transactions);
 
+    default TransactionPageResponse toTransactionPageResponse(TransactionPage page) {
+        String nextCursor = page.getNextCursor() == null ? null : page.getNextCursor().encode();
+        return new TransactionPageResponse(toTransactionResponseList(page.getTransactions()), nextCursor);
+    }
+
     @Mapping(target = "balance", expression = "java(balance.getAmount())")
     @Mapping(target = "currency", expression = "java(balance.getCurrency())")
     @Mapping(target = "timestamp", expression = "java(java.time.LocalDateTime.now())")
     BalanceResponse toBalanceResponse(String userId, Money balance);
 
+    @Mapping(target = "balance", expression = "java(dailyBalance.getBalance().getAmount())")
+    @Mapping(target = "currency", expression = "java(dailyBalance.getBalance().getCurrency())")
+    @Mapping(target = "timestamp", expression = "java(dailyBalance.getDate().atTime(23, 59, 59))")
+    BalanceResponse toDailyBalanceResponse(String userId, DailyBalance dailyBalance);
+
+    default List<BalanceResponse> toDailyBalanceResponseList(String userId, List<DailyBalance> series) {
+        return series.stream()
+                .map(dailyBalance -> toDailyBalanceResponse(userId, dailyBalance))
+                .toList();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.br.walletentrypoint.rest.response;
+
+import java.time.LocalDateTime;
+
+public record OutboxReplayResponse(int scheduled,
+                                   LocalDateTime completesAt,
+                                   long remainingParked
+) {
+}
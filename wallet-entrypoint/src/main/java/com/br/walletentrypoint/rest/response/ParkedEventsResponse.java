@@ -0,0 +1,4 @@
+package com.br.walletentrypoint.rest.response;
+
+public record ParkedEventsResponse(long parked) {
+}
@@ -0,0 +1,8 @@
+package com.br.walletentrypoint.rest.response;
+
+import java.util.List;
+
+public record TransactionPageResponse(List<TransactionResponse> transactions,
+                                      String nextCursor
+) {
+}
@@ -0,0 +1,30 @@
+package com.br.walletentrypoint.scheduler;
+
+import com.br.walletcore.usecase.SnapshotDailyBalancesUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "wallet.snapshot.scheduler.enabled", havingValue = "true")
+public class DailyBalanceSnapshotScheduler {
+
+    private final SnapshotDailyBalancesUseCase snapshotDailyBalancesUseCase;
+
+    @Scheduled(cron = "${wallet.snapshot.scheduler.cron}")
+    public void snapshotPreviousDay() {
+        LocalDate previousDay = LocalDate.now().minusDays(1);
+        try {
+            snapshotDailyBalancesUseCase.execute(previousDay);
+        } catch (Exception e) {
+            // Snapshots ausentes são criados sob demanda na primeira consulta histórica
+            log.error("Daily balance snapshot failed for day: {}", previousDay, e);
+        }
+    }
+}
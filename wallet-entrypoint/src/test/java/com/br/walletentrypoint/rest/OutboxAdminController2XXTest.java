@@ -0,0 +1,79 @@
+package com.br.walletentrypoint.rest;
+
+import com.br.walletentrypoint.rest.facade.OutboxAdminFacade;
+import com.br.walletentrypoint.rest.response.OutboxReplayResponse;
+import com.br.walletentrypoint.rest.response.ParkedEventsResponse;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de SUCESSO (2XX) para OutboxAdminController
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Admin Controller - Success Tests (2XX)")
+class OutboxAdminController2XXTest {
+
+    private static final String BASE_PATH = "/api/v1/admin/outbox";
+
+    @Mock
+    private OutboxAdminFacade outboxAdminFacade;
+
+    @InjectMocks
+    private OutboxAdminController outboxAdminController;
+
+    @BeforeEach
+    void setUp() {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(outboxAdminController).build();
+        RestAssuredMockMvc.mockMvc(mockMvc);
+    }
+
+    @Test
+    @DisplayName("GET /admin/outbox/parked - Should return parked events count")
+    void shouldReturnParkedEventsCount() {
+        // Given
+        when(outboxAdminFacade.getParkedEvents()).thenReturn(new ParkedEventsResponse(42));
+
+        // When / Then
+        given()
+                .when()
+                .get(BASE_PATH + "/parked")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("parked", equalTo(42));
+    }
+
+    @Test
+    @DisplayName("POST /admin/outbox/parked/replay - Should schedule parked events with default limit and rate")
+    void shouldScheduleReplayWithDefaults() {
+        // Given
+        var response = new OutboxReplayResponse(1000, LocalDateTime.of(2024, 1, 1, 12, 0, 20), 5);
+        when(outboxAdminFacade.replayParkedEvents(1000, 50)).thenReturn(response);
+
+        // When / Then
+        given()
+                .when()
+                .post(BASE_PATH + "/parked/replay")
+                .then()
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .body("scheduled", equalTo(1000))
+                .body("remainingParked", equalTo(5));
+
+        verify(outboxAdminFacade).replayParkedEvents(1000, 50);
+    }
+}
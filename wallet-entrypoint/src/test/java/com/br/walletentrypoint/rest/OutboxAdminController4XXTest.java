@@ -0,0 +1,62 @@
+package com.br.walletentrypoint.rest;
+
+import com.br.walletentrypoint.exceptions.ValidationExceptionHandler;
+import com.br.walletentrypoint.rest.facade.OutboxAdminFacade;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de CLIENT ERROR (4XX) para OutboxAdminController
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Admin Controller - Client Error Tests (4XX)")
+class OutboxAdminController4XXTest {
+
+    private static final String BASE_PATH = "/api/v1/admin/outbox";
+
+    @Mock
+    private OutboxAdminFacade outboxAdminFacade;
+
+    @InjectMocks
+    private OutboxAdminController outboxAdminController;
+
+    @BeforeEach
+    void setUp() {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(outboxAdminController)
+                .setControllerAdvice(new ValidationExceptionHandler())
+                .build();
+        RestAssuredMockMvc.mockMvc(mockMvc);
+    }
+
+    @Test
+    @DisplayName("POST /admin/outbox/parked/replay - Should return 400 when rate is out of range")
+    void shouldReturn400WhenReplayRateIsOutOfRange() {
+        // Given
+        when(outboxAdminFacade.replayParkedEvents(100, 0))
+                .thenThrow(new IllegalArgumentException("Rate must be between 1 and 1000 events per second"));
+
+        // When / Then
+        given()
+                .queryParam("limit", 100)
+                .queryParam("rate", 0)
+                .when()
+                .post(BASE_PATH + "/parked/replay")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("title", equalTo("Business Rule Violation"));
+    }
+}
@@ -3,6 +3,8 @@ package com.br.walletentrypoint.rest;
 import com.br.walletcore.domain.Money;
 import com.br.walletentrypoint.rest.facade.WalletFacade;
 import com.br.walletentrypoint.rest.response.BalanceResponse;
+import com.br.walletcore.enums.TransactionType;
+import com.br.walletentrypoint.rest.response.TransactionPageResponse;
 import com.br.walletentrypoint.rest.response.TransactionResponse;
 import com.br.walletentrypoint.rest.response.WalletResponse;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
@@ -13,12 +15,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +32,7 @@ import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -391,4 +396,167 @@ class WalletController2XXTest {
                 .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
                 .isEqualTo(expectedResponse);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/balance/historical?time= - Should get balance at an arbitrary instant (200)")
+    void shouldGetHistoricalBalanceAtTimeSuccessfully() {
+        // Given
+        String userId = "688c2e05c0514a144d4bd13c";
+        LocalDateTime instant = LocalDateTime.of(2025, 8, 1, 13, 45);
+
+        var expectedResponse = new BalanceResponse(
+                userId,
+                new BigDecimal("75.25"),
+                "BRL",
+                LocalDateTime.now()
+        );
+
+        when(walletFacade.getHistoricalBalance(userId, instant))
+                .thenReturn(expectedResponse);
+
+        // When
+        List<BalanceResponse> actualResponses = given()
+                .queryParam("date", "2025-08-01")
+                .queryParam("time", "13:45:00")
+                .when()
+                .get(BASE_PATH + "/{userId}/balance/historical", userId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath()
+                .getList(".", BalanceResponse.class);
+
+        // Then
+        assertThat(actualResponses).hasSize(1);
+        assertThat(actualResponses.getFirst().balance()).isEqualByComparingTo(new BigDecimal("75.25"));
+    }
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/balance/historical?from=&to= - Should get daily balance series (200)")
+    void shouldGetHistoricalBalanceSeriesSuccessfully() {
+        // Given
+        String userId = "688c2e05c0514a144d4bd13c";
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        LocalDate to = LocalDate.of(2025, 8, 3);
+
+        var expectedResponses = List.of(
+                new BalanceResponse(userId, new BigDecimal("10.00"), "BRL", from.atTime(23, 59, 59)),
+                new BalanceResponse(userId, new BigDecimal("25.00"), "BRL", from.plusDays(1).atTime(23, 59, 59)),
+                new BalanceResponse(userId, new BigDecimal("25.00"), "BRL", to.atTime(23, 59, 59))
+        );
+
+        when(walletFacade.getHistoricalBalanceSeries(userId, from, to, "day"))
+                .thenReturn(expectedResponses);
+
+        // When
+        List<BalanceResponse> actualResponses = given()
+                .queryParam("from", "2025-08-01")
+                .queryParam("to", "2025-08-03")
+                .when()
+                .get(BASE_PATH + "/{userId}/balance/historical", userId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath()
+                .getList(".", BalanceResponse.class);
+
+        // Then
+        assertThat(actualResponses).hasSize(3);
+        assertThat(actualResponses.get(1).balance()).isEqualByComparingTo(new BigDecimal("25.00"));
+        verify(walletFacade).getHistoricalBalanceSeries(userId, from, to, "day");
+    }
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/transactions - Should get a page of transactions with next cursor (200)")
+    void shouldGetTransactionsPageSuccessfully() {
+        // Given
+        String userId = "688c2e05c0514a144d4bd13c";
+        String cursor = "MjAyNS0wOC0wMVQxMDowMHx0eC0x";
+
+        var transaction = new TransactionResponse(
+                UUID.randomUUID().toString(),
+                "wallet-123",
+                "DEPOSIT",
+                new BigDecimal("50.00"),
+                "BRL",
+                new BigDecimal("150.00"),
+                LocalDateTime.of(2025, 8, 1, 9, 30),
+                null
+        );
+        var expectedResponse = new TransactionPageResponse(List.of(transaction), "next-cursor");
+
+        when(walletFacade.getTransactions(userId, TransactionType.DEPOSIT,
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31), cursor, 1))
+                .thenReturn(expectedResponse);
+
+        // When
+        TransactionPageResponse actualResponse = given()
+                .queryParam("type", "DEPOSIT")
+                .queryParam("from", "2025-08-01")
+                .queryParam("to", "2025-08-31")
+                .queryParam("cursor", cursor)
+                .queryParam("limit", 1)
+                .when()
+                .get(BASE_PATH + "/{userId}/transactions", userId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(TransactionPageResponse.class);
+
+        // Then
+        assertThat(actualResponse.transactions()).hasSize(1);
+        assertThat(actualResponse.transactions().getFirst().type()).isEqualTo("DEPOSIT");
+        assertThat(actualResponse.nextCursor()).isEqualTo("next-cursor");
+    }
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/transactions/export - Should stream transactions as NDJSON (200)")
+    void shouldExportTransactionsAsNdjsonSuccessfully() {
+        // Given
+        String userId = "688c2e05c0514a144d4bd13c";
+        String ndjson = """
+                {"id":"tx-1","type":"DEPOSIT","amount":100.00}
+                {"id":"tx-2","type":"WITHDRAW","amount":30.00}
+                """;
+
+        when(walletFacade.exportTransactions(userId))
+                .thenReturn(outputStream -> outputStream.write(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        String body = given()
+                .when()
+                .async()
+                .get(BASE_PATH + "/{userId}/transactions/export", userId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions-" + userId + ".ndjson\"")
+                .extract()
+                .asString();
+
+        // Then
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst()).hasValueSatisfying(line -> assertThat(line).contains("\"tx-1\""));
+    }
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/balance/historical - Should mark closed-day balance as private and immutable (200)")
+    void shouldMarkClosedDayHistoricalBalanceAsImmutable() {
+        // Given
+        String userId = "688c2e05c0514a144d4bd13c";
+        LocalDate closedDay = LocalDate.of(2025, 8, 1);
+
+        when(walletFacade.getHistoricalBalance(userId, closedDay))
+                .thenReturn(new BalanceResponse(userId, new BigDecimal("10.00"), "BRL", LocalDateTime.now()));
+        when(walletFacade.isClosedDay(closedDay)).thenReturn(true);
+
+        // When & Then
+        given()
+                .queryParam("date", "2025-08-01")
+                .when()
+                .get(BASE_PATH + "/{userId}/balance/historical", userId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable");
+    }
+}
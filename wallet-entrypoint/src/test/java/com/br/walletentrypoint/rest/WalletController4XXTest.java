@@ -1,6 +1,7 @@
 package com.br.walletentrypoint.rest;
 
 import com.br.walletcore.domain.Money;
+import com.br.walletcore.exceptions.ConcurrentWalletUpdateException;
 import com.br.walletentrypoint.exceptions.ValidationExceptionHandler;
 import com.br.walletentrypoint.rest.facade.WalletFacade;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
@@ -297,6 +298,31 @@ class WalletController4XXTest {
                 .body("message", equalTo("Insufficient funds"));
     }
 
+    @Test
+    @DisplayName("POST /wallets/{userId}/withdraw - Should return 409 when concurrent updates exhaust retries")
+    void shouldReturn409WhenConcurrentUpdateRetriesAreExhausted() {
+        // Given
+        when(walletFacade.withdraw(anyString(), any(Money.class)))
+                .thenThrow(new ConcurrentWalletUpdateException("Wallet is being updated concurrently, please retry", null));
+
+        // When & Then
+        given()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body("""
+                        {
+                            "amount": 25.50,
+                            "currency": "BRL"
+                        }
+                        """)
+                .when()
+                .post(BASE_PATH + "/{userId}/withdraw", "688c2e05c0514a144d4bd13c")
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value())
+                .body("statusCode", equalTo(HttpStatus.CONFLICT.value()))
+                .body("title", equalTo("Concurrent Update"))
+                .body("details[0].field", equalTo("wallet"));
+    }
+
     @Test
     @DisplayName("POST /wallets/transfer - Should return 400 when currency mismatch")
     void shouldReturn400WhenTransferCurrencyMismatch() {
@@ -408,4 +434,36 @@ class WalletController4XXTest {
                 .body("details[0].field", equalTo("date"))
                 .body("details[0].message", equalTo("Required parameter 'date' of type 'LocalDate' is missing"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/transactions - Should return 400 when transaction type is invalid")
+    void shouldReturn400WhenTransactionTypeIsInvalid() {
+        given()
+                .queryParam("type", "REFUND")
+                .when()
+                .get(BASE_PATH + "/{userId}/transactions", "688c2e05c0514a144d4bd13c")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("statusCode", equalTo(HttpStatus.BAD_REQUEST.value()))
+                .body("title", equalTo("Invalid Parameter Type"));
+    }
+
+    @Test
+    @DisplayName("GET /wallets/{userId}/transactions - Should return 400 when cursor is invalid")
+    void shouldReturn400WhenTransactionCursorIsInvalid() {
+        // Given
+        when(walletFacade.getTransactions(anyString(), any(), any(), any(), anyString(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        given()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get(BASE_PATH + "/{userId}/transactions", "688c2e05c0514a144d4bd13c")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("statusCode", equalTo(HttpStatus.BAD_REQUEST.value()))
+                .body("title", equalTo("Business Rule Violation"))
+                .body("message", equalTo("Invalid cursor"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.br.walletentrypoint.rest.facade;
+
+import com.br.walletcore.domain.Money;
+import com.br.walletcore.domain.WalletTransaction;
+import com.br.walletcore.enums.TransactionType;
+import com.br.walletcore.usecase.ExportTransactionsUseCase;
+import com.br.walletentrypoint.rest.mapper.WalletResponseMapper;
+import com.br.walletentrypoint.rest.response.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do export NDJSON do WalletFacade sobre os bytes reais gerados pelo Jackson
+ * (o teste do controller usa o facade mockado)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Wallet Facade - NDJSON export")
+class WalletFacadeExportTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private ExportTransactionsUseCase exportTransactionsUseCase;
+
+    @Mock
+    private WalletResponseMapper responseMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private WalletFacade walletFacade;
+
+    @BeforeEach
+    void setUp() {
+        List<WalletTransaction> transactions = List.of(transaction("tx-1"), transaction("tx-2"), transaction("tx-3"));
+        when(exportTransactionsUseCase.execute(USER_ID)).thenReturn(sink -> transactions.forEach(sink));
+        when(responseMapper.toTransactionResponse(any(WalletTransaction.class)))
+                .thenAnswer(invocation -> response(invocation.<WalletTransaction>getArgument(0).getId()));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line with no separator before it")
+    void shouldWriteOneObjectPerLine() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        walletFacade.exportTransactions(USER_ID).writeTo(output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{\"id\":\"tx-").endsWith("}"));
+        assertThat(lines).extracting(line -> objectMapper.readTree(line).get("id").asText())
+                .containsExactly("tx-1", "tx-2", "tx-3");
+    }
+
+    private static WalletTransaction transaction(String id) {
+        return WalletTransaction.builder()
+                .id(id)
+                .walletId("wallet-1")
+                .type(TransactionType.DEPOSIT)
+                .amount(Money.of(new BigDecimal("10.00"), "BRL"))
+                .timestamp(LocalDateTime.of(2026, 10, 17, 10, 15, 30))
+                .build();
+    }
+
+    private static TransactionResponse response(String id) {
+        return new TransactionResponse(id, "wallet-1", "DEPOSIT", new BigDecimal("10.00"), "BRL",
+                new BigDecimal("10.00"), LocalDateTime.of(2026, 10, 17, 10, 15, 30), "corr-1");
+    }
+}